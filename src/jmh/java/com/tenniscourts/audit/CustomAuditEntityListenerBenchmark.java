@@ -0,0 +1,65 @@
+package com.tenniscourts.audit;
+
+import com.tenniscourts.guests.Guest;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Per-persist cost of the audit callback. {@code lookupPerPersist} reproduces the previous listener, which resolved
+ * the local host on every call; {@code prePersist} is the current one, with and without a request audit context.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CustomAuditEntityListenerBenchmark {
+
+    @Param({"false", "true"})
+    public boolean withRequestContext;
+
+    private final CustomAuditEntityListener listener = new CustomAuditEntityListener();
+
+    @Setup
+    public void setUp() {
+        if (withRequestContext) {
+            AuditContextHolder.set(new AuditContext(42L, "203.0.113.7"));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        AuditContextHolder.clear();
+    }
+
+    @Benchmark
+    public Guest lookupPerPersist() throws UnknownHostException {
+        Guest guest = new Guest();
+        LocalDateTime now = LocalDateTime.now();
+        guest.setDateUpdate(now);
+        guest.setUserUpdate(CustomAuditEntityListener.USER_SYSTEM_ID);
+        guest.setDateCreate(now);
+        guest.setUserCreate(CustomAuditEntityListener.USER_SYSTEM_ID);
+        guest.setIpNumberUpdate(InetAddress.getLocalHost().getHostAddress());
+        guest.setIpNumberCreate(InetAddress.getLocalHost().getHostAddress());
+        return guest;
+    }
+
+    @Benchmark
+    public Guest prePersist() {
+        Guest guest = new Guest();
+        listener.prePersist(guest);
+        return guest;
+    }
+}
@@ -0,0 +1,127 @@
+package com.tenniscourts.refundpolicies;
+
+import com.tenniscourts.guests.GuestClass;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Refund evaluation over a spread of start times: the hardcoded tiers that {@code ReservationService.getRefundValue}
+ * used to have, against {@link RefundPolicyEngine} with the default tiers and with tiers for many courts, guest
+ * classes and seasons. Run with {@code -prof gc} to compare allocation.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class RefundPolicyBenchmark {
+
+    private static final int STARTS = 1024;
+
+    private static final int TENNIS_COURTS = 64;
+
+    private static final BigDecimal VALUE = new BigDecimal(10);
+
+    private static final Long[] TENNIS_COURT_IDS = {1L, 17L, 42L, 64L, 99L};
+
+    private static final GuestClass[] GUEST_CLASSES = GuestClass.values();
+
+    private final LocalDateTime[] startDateTimes = new LocalDateTime[STARTS];
+
+    private RefundPolicyEngine defaultEngine;
+
+    private RefundPolicyEngine largeEngine;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < STARTS; i++) {
+            startDateTimes[i] = now.plusMinutes(i * 47L - 120);
+        }
+        defaultEngine = new RefundPolicyEngine(repository(new ArrayList<>()), Clock.systemDefaultZone());
+        defaultEngine.reload();
+
+        List<RefundPolicyTier> tiers = new ArrayList<>(RefundPolicyEngine.DEFAULT_TIERS);
+        for (long tennisCourtId = 1; tennisCourtId <= TENNIS_COURTS; tennisCourtId++) {
+            for (GuestClass guestClass : GUEST_CLASSES) {
+                for (Month seasonStart : new Month[]{Month.APRIL, Month.OCTOBER}) {
+                    for (int minHoursBefore : new int[]{72, 48, 24, 12, 6, 2, 0}) {
+                        tiers.add(RefundPolicyTier.builder()
+                                .tennisCourtId(tennisCourtId)
+                                .guestClass(guestClass)
+                                .seasonStart(seasonStart)
+                                .seasonEnd(seasonStart.plus(5))
+                                .minHoursBefore(minHoursBefore)
+                                .refundRate(BigDecimal.valueOf(minHoursBefore + 1, 2).min(BigDecimal.ONE))
+                                .build());
+                    }
+                }
+            }
+        }
+        largeEngine = new RefundPolicyEngine(repository(tiers), Clock.systemDefaultZone());
+        largeEngine.reload();
+    }
+
+    @Benchmark
+    public void hardcodedTiers(Blackhole blackhole) {
+        for (LocalDateTime startDateTime : startDateTimes) {
+            blackhole.consume(hardcodedRefundValue(startDateTime, VALUE));
+        }
+    }
+
+    @Benchmark
+    public void defaultTiers(Blackhole blackhole) {
+        for (LocalDateTime startDateTime : startDateTimes) {
+            blackhole.consume(defaultEngine.refundValue(1L, GuestClass.STANDARD, startDateTime, VALUE));
+        }
+    }
+
+    @Benchmark
+    public void largeTiers(Blackhole blackhole) {
+        for (int i = 0; i < STARTS; i++) {
+            blackhole.consume(largeEngine.refundValue(TENNIS_COURT_IDS[i % TENNIS_COURT_IDS.length],
+                    GUEST_CLASSES[i % GUEST_CLASSES.length], startDateTimes[i], VALUE));
+        }
+    }
+
+    /**
+     * A repository whose every query returns {@code tiers}.
+     */
+    private static RefundPolicyTierRepository repository(List<RefundPolicyTier> tiers) {
+        return (RefundPolicyTierRepository) Proxy.newProxyInstance(RefundPolicyTierRepository.class.getClassLoader(),
+                new Class<?>[]{RefundPolicyTierRepository.class}, (proxy, method, arguments) -> tiers);
+    }
+
+    /**
+     * The evaluation {@code ReservationService.getRefundValue} did before the engine.
+     */
+    private static BigDecimal hardcodedRefundValue(LocalDateTime startDateTime, BigDecimal value) {
+        long hours = ChronoUnit.HOURS.between(LocalDateTime.now(), startDateTime);
+
+        if (hours >= 24) {
+            return value;
+        } else if (hours >= 12) {
+            return value.multiply(BigDecimal.valueOf(0.75));
+        } else if (hours >= 2) {
+            return value.multiply(BigDecimal.valueOf(0.5));
+        } else if (hours >= 0) {
+            return value.multiply(BigDecimal.valueOf(0.25));
+        }
+        return BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,138 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.TennisCourtApplication;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Latency of {@link ReservationService#bookReservation} and {@link ReservationService#rescheduleReservation} against
+ * the in-memory database, each invocation working on fresh slots. The {@code statements} and {@code operations}
+ * counters give the JDBC statements Hibernate prepared per call.
+ *
+ * <p>Run with {@code ./gradlew jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReservationBookingBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private ReservationService reservationService;
+
+    private ScheduleRepository scheduleRepository;
+
+    private Statistics statistics;
+
+    private TennisCourt tennisCourt;
+
+    private LocalDateTime nextStartDateTime;
+
+    private Long freeScheduleId;
+
+    private Long bookedReservationId;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(TennisCourtApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:booking-benchmark",
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.type=WARN",
+                        "spring.jpa.properties.hibernate.generate_statistics=true")
+                .run();
+        reservationService = context.getBean(ReservationService.class);
+        scheduleRepository = context.getBean(ScheduleRepository.class);
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+        tennisCourt = context.getBean(TennisCourtRepository.class).findAll().get(0);
+        nextStartDateTime = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    /**
+     * Adds a free slot and a booked one.
+     */
+    @Setup(Level.Invocation)
+    public void addSchedules() {
+        freeScheduleId = addSchedule();
+        bookedReservationId = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(1L)
+                .scheduleId(addSchedule())
+                .build()).getId();
+    }
+
+    @Benchmark
+    public ReservationDTO bookReservation(StatementCounters counters) {
+        long before = statistics.getPrepareStatementCount();
+        ReservationDTO reservation = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(1L)
+                .scheduleId(freeScheduleId)
+                .build());
+        counters.count(statistics.getPrepareStatementCount() - before);
+        return reservation;
+    }
+
+    @Benchmark
+    public ReservationDTO rescheduleReservation(StatementCounters counters) {
+        long before = statistics.getPrepareStatementCount();
+        ReservationDTO reservation = reservationService.rescheduleReservation(bookedReservationId, freeScheduleId);
+        counters.count(statistics.getPrepareStatementCount() - before);
+        return reservation;
+    }
+
+    private Long addSchedule() {
+        Long scheduleId = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(nextStartDateTime)
+                .endDateTime(nextStartDateTime.plusHours(1))
+                .build()).getId();
+        nextStartDateTime = nextStartDateTime.plusHours(1);
+        return scheduleId;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class StatementCounters {
+
+        public long statements;
+
+        public long operations;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+            operations = 0;
+        }
+
+        void count(long operationStatements) {
+            statements += operationStatements;
+            operations++;
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.tenniscourts.audit;
+
+public enum AuditAction {
+    CREATE, UPDATE
+}
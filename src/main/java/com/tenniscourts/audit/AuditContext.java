@@ -0,0 +1,16 @@
+package com.tenniscourts.audit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Who is behind the current request, as recorded in the audit columns of every entity it writes.
+ */
+@Getter
+@AllArgsConstructor
+public class AuditContext {
+
+    private final Long userId;
+
+    private final String ipAddress;
+}
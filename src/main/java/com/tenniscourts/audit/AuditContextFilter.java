@@ -0,0 +1,44 @@
+package com.tenniscourts.audit;
+
+import java.io.IOException;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Populates the {@link AuditContextHolder} with the caller's user id and client address for the duration of a request.
+ * The address is the request's remote address; behind a trusted proxy set {@code server.forward-headers-strategy} so
+ * that it is taken from the proxy's forwarded headers.
+ */
+@Component
+public class AuditContextFilter extends OncePerRequestFilter {
+
+    public static final String USER_ID_HEADER = "X-User-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AuditContextHolder.set(new AuditContext(userId(request), request.getRemoteAddr()));
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            AuditContextHolder.clear();
+        }
+    }
+
+    private static Long userId(HttpServletRequest request) {
+        String userId = request.getHeader(USER_ID_HEADER);
+        if (!StringUtils.hasText(userId)) {
+            return null;
+        }
+        try {
+            return Long.valueOf(userId.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.tenniscourts.audit;
+
+/**
+ * Binds the {@link AuditContext} of the request being served to its thread. JPA instantiates
+ * {@link CustomAuditEntityListener} itself, so the context is handed over here rather than injected.
+ */
+public final class AuditContextHolder {
+
+    private static final ThreadLocal<AuditContext> CONTEXT = new ThreadLocal<>();
+
+    private AuditContextHolder() {
+    }
+
+    public static AuditContext get() {
+        return CONTEXT.get();
+    }
+
+    public static void set(AuditContext auditContext) {
+        CONTEXT.set(auditContext);
+    }
+
+    public static void clear() {
+        CONTEXT.remove();
+    }
+}
@@ -0,0 +1,267 @@
+package com.tenniscourts.audit;
+
+import com.tenniscourts.config.persistence.BaseEntity;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Append-only history of entity writes. Entries recorded inside a transaction are held back until it commits, then
+ * handed to a bounded ring buffer that a single background thread drains into the {@code audit_journal} table in
+ * batched inserts, so request threads never wait on journal I/O unless {@link AuditJournalDurability#ON_COMMIT} is
+ * configured. The writer runs as a lifecycle bean, so on shutdown it drains the buffer before the data source and the
+ * schema go away.
+ */
+@Slf4j
+@Component
+public class AuditJournal implements SmartLifecycle {
+
+    private static final String INSERT_ENTRY = "insert into audit_journal (entity_type, entity_id, action, details, "
+            + "user_id, ip_address, occurred_at) values (?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AuditJournalProperties properties;
+
+    private final BlockingQueue<Pending> buffer;
+
+    private final AtomicLong written = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public AuditJournal(JdbcTemplate jdbcTemplate, AuditJournalProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(properties.getCapacity());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drain, "audit-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.join(properties.getFlushInterval().toMillis() * 10);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void record(BaseEntity<Long> entity, AuditAction action) {
+        AuditJournalEntry entry = AuditJournalEntry.builder()
+                .entityType(entity.getClass().getSimpleName())
+                .entityId(entity.getId())
+                .action(action)
+                .details(entity.auditDetails())
+                .userId(AuditAction.CREATE.equals(action) ? entity.getUserCreate() : entity.getUserUpdate())
+                .ipAddress(AuditAction.CREATE.equals(action) ? entity.getIpNumberCreate() : entity.getIpNumberUpdate())
+                .occurredAt(LocalDateTime.now())
+                .build();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(Collections.singletonList(entry));
+            return;
+        }
+        List<AuditJournalEntry> pending = (List<AuditJournalEntry>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<AuditJournalEntry> entries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, entries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    append(entries);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(AuditJournal.this);
+                }
+            });
+            pending = entries;
+        }
+        pending.add(entry);
+    }
+
+    /**
+     * Blocks until every entry appended before this call has been written, or the flush interval has passed ten times.
+     */
+    public void flush() {
+        CountDownLatch latch = new CountDownLatch(1);
+        try {
+            buffer.put(new Pending(null, latch));
+            latch.await(properties.getFlushInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    private void append(List<AuditJournalEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        CountDownLatch latch = AuditJournalDurability.ON_COMMIT.equals(properties.getDurability())
+                ? new CountDownLatch(entries.size()) : null;
+        for (AuditJournalEntry entry : entries) {
+            if (!offer(new Pending(entry, latch))) {
+                dropped.incrementAndGet();
+                log.warn("Audit journal buffer is full, dropping {} {} {}", entry.getAction(), entry.getEntityType(),
+                        entry.getEntityId());
+                if (latch != null) {
+                    latch.countDown();
+                }
+            }
+        }
+        if (latch != null) {
+            try {
+                latch.await(properties.getFlushInterval().toMillis() * 10, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private boolean offer(Pending pending) {
+        if (AuditJournalBackpressure.DROP.equals(properties.getBackpressure())) {
+            return buffer.offer(pending);
+        }
+        try {
+            return buffer.offer(pending, properties.getOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void drain() {
+        List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+        while (running || !buffer.isEmpty()) {
+            try {
+                Pending first = buffer.poll(properties.getFlushInterval().toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                if (AuditJournalDurability.INTERVAL.equals(properties.getDurability())) {
+                    lingerForBatch(batch);
+                }
+                buffer.drainTo(batch, properties.getBatchSize() - batch.size());
+            } catch (InterruptedException e) {
+                running = false;
+            } finally {
+                write(batch);
+                batch.forEach(Pending::done);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Lets a batch fill up for at most one flush interval, so a steady trickle of writes still goes out in batches.
+     */
+    private void lingerForBatch(List<Pending> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getFlushInterval().toNanos();
+        while (running && batch.size() < properties.getBatchSize() && !batch.get(batch.size() - 1).isMarker()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            Pending next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<AuditJournalEntry> entries = new ArrayList<>(batch.size());
+        batch.stream().filter(pending -> !pending.isMarker()).forEach(pending -> entries.add(pending.entry));
+        if (entries.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(INSERT_ENTRY, entries, entries.size(), (statement, entry) -> {
+                statement.setString(1, entry.getEntityType());
+                statement.setLong(2, entry.getEntityId());
+                statement.setString(3, entry.getAction().name());
+                statement.setString(4, entry.getDetails());
+                statement.setObject(5, entry.getUserId());
+                statement.setString(6, entry.getIpAddress());
+                statement.setTimestamp(7, Timestamp.valueOf(entry.getOccurredAt()));
+            });
+            written.addAndGet(entries.size());
+        } catch (DataAccessException e) {
+            dropped.addAndGet(entries.size());
+            log.error("Could not write {} audit journal entries", entries.size(), e);
+        }
+    }
+
+    /**
+     * A buffered entry, or a marker without one that {@link #flush()} waits on.
+     */
+    private static final class Pending {
+
+        private final AuditJournalEntry entry;
+
+        private final CountDownLatch latch;
+
+        private Pending(AuditJournalEntry entry, CountDownLatch latch) {
+            this.entry = entry;
+            this.latch = latch;
+        }
+
+        private boolean isMarker() {
+            return entry == null;
+        }
+
+        private void done() {
+            if (latch != null) {
+                latch.countDown();
+            }
+        }
+    }
+}
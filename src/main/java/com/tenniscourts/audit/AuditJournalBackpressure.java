@@ -0,0 +1,12 @@
+package com.tenniscourts.audit;
+
+public enum AuditJournalBackpressure {
+    /**
+     * Writers wait up to the offer timeout for room in a full buffer and drop the entry after that.
+     */
+    BLOCK,
+    /**
+     * Entries that do not fit in a full buffer are dropped immediately.
+     */
+    DROP
+}
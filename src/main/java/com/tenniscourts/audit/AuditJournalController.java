@@ -0,0 +1,29 @@
+package com.tenniscourts.audit;
+
+import com.tenniscourts.config.BaseRestController;
+import com.tenniscourts.config.pagination.PageCursor;
+import io.swagger.annotations.ApiOperation;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/audit-journal")
+public class AuditJournalController extends BaseRestController {
+
+    private final AuditJournalService auditJournalService;
+
+    @GetMapping
+    @ApiOperation(value = "Read the audit journal of an entity type or a single entity")
+    public ResponseEntity<List<AuditJournalEntryDTO>> findEntries(@RequestParam String entityType,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(auditJournalService.findEntries(entityType, entityId, afterId, limit));
+    }
+}
@@ -0,0 +1,13 @@
+package com.tenniscourts.audit;
+
+public enum AuditJournalDurability {
+    /**
+     * Committing transactions only hand their entries to the buffer; the writer flushes batches at least once per
+     * flush interval, so entries of the last interval can be lost on a crash.
+     */
+    INTERVAL,
+    /**
+     * A committing transaction waits until the writer has stored its entries before it returns to the caller.
+     */
+    ON_COMMIT
+}
@@ -0,0 +1,26 @@
+package com.tenniscourts.audit;
+
+import com.tenniscourts.config.persistence.BaseEntity;
+import javax.persistence.PostPersist;
+import javax.persistence.PostUpdate;
+import lombok.AllArgsConstructor;
+
+/**
+ * Feeds entity writes into the {@link AuditJournal}. Hibernate obtains this listener from the Spring context, so the
+ * journal is injected. Post callbacks are used because identity ids are only known once the row is inserted.
+ */
+@AllArgsConstructor
+public class AuditJournalEntityListener {
+
+    private final AuditJournal auditJournal;
+
+    @PostPersist
+    public void postPersist(BaseEntity<Long> baseEntity) {
+        auditJournal.record(baseEntity, AuditAction.CREATE);
+    }
+
+    @PostUpdate
+    public void postUpdate(BaseEntity<Long> baseEntity) {
+        auditJournal.record(baseEntity, AuditAction.UPDATE);
+    }
+}
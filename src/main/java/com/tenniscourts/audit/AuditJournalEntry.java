@@ -0,0 +1,57 @@
+package com.tenniscourts.audit;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One append-only row of the audit journal. Rows are written by {@link AuditJournal} through JDBC and never updated.
+ */
+@Entity
+@Table(name = "audit_journal",
+        indexes = @Index(name = "idx_audit_journal_entity", columnList = "entityType, entityId, id"))
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditJournalEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String entityType;
+
+    @Column(nullable = false)
+    private Long entityId;
+
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private AuditAction action;
+
+    @Column(length = 1024)
+    private String details;
+
+    @Column
+    private Long userId;
+
+    @Column
+    private String ipAddress;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,28 @@
+package com.tenniscourts.audit;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class AuditJournalEntryDTO {
+
+    private Long id;
+
+    private String entityType;
+
+    private Long entityId;
+
+    private AuditAction action;
+
+    private String details;
+
+    private Long userId;
+
+    private String ipAddress;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS")
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,12 @@
+package com.tenniscourts.audit;
+
+import java.util.List;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface AuditJournalMapper {
+
+    AuditJournalEntryDTO map(AuditJournalEntry source);
+
+    List<AuditJournalEntryDTO> map(List<AuditJournalEntry> source);
+}
@@ -0,0 +1,26 @@
+package com.tenniscourts.audit;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tenniscourts.audit.journal")
+public class AuditJournalProperties {
+
+    private int capacity = 8192;
+
+    private int batchSize = 256;
+
+    private Duration flushInterval = Duration.ofMillis(200);
+
+    private Duration offerTimeout = Duration.ofMillis(100);
+
+    private AuditJournalDurability durability = AuditJournalDurability.INTERVAL;
+
+    private AuditJournalBackpressure backpressure = AuditJournalBackpressure.BLOCK;
+}
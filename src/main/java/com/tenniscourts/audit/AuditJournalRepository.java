@@ -0,0 +1,13 @@
+package com.tenniscourts.audit;
+
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface AuditJournalRepository extends JpaRepository<AuditJournalEntry, Long> {
+
+    List<AuditJournalEntry> findByEntityTypeAndIdGreaterThanOrderById(String entityType, Long id, Pageable pageable);
+
+    List<AuditJournalEntry> findByEntityTypeAndEntityIdAndIdGreaterThanOrderById(String entityType, Long entityId,
+            Long id, Pageable pageable);
+}
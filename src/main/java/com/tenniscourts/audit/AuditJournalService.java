@@ -0,0 +1,35 @@
+package com.tenniscourts.audit;
+
+import static java.util.Objects.isNull;
+
+import com.tenniscourts.config.pagination.PageCursor;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+@Service
+@AllArgsConstructor
+public class AuditJournalService {
+
+    private final AuditJournalRepository auditJournalRepository;
+
+    private final AuditJournalMapper auditJournalMapper;
+
+    /**
+     * Journal entries of one entity type, or of a single entity when {@code entityId} is given, oldest first and
+     * starting after the entry with id {@code afterId}.
+     */
+    public List<AuditJournalEntryDTO> findEntries(String entityType, Long entityId, Long afterId, int limit) {
+        if (isNull(entityType) || entityType.trim().isEmpty()) {
+            throw new IllegalArgumentException("Entity type is required.");
+        }
+        PageCursor.checkLimit(limit);
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        long after = isNull(afterId) ? 0L : afterId;
+        return auditJournalMapper.map(isNull(entityId)
+                ? auditJournalRepository.findByEntityTypeAndIdGreaterThanOrderById(entityType, after, pageRequest)
+                : auditJournalRepository.findByEntityTypeAndEntityIdAndIdGreaterThanOrderById(entityType, entityId,
+                        after, pageRequest));
+    }
+}
@@ -13,32 +13,56 @@ public class CustomAuditEntityListener {
     public final static Long USER_SYSTEM_ID = 1L;
 
     @PreUpdate
-    public void preUpdate(BaseEntity baseEntity) throws UnknownHostException {
-
+    public void preUpdate(BaseEntity baseEntity) {
+        AuditContext auditContext = AuditContextHolder.get();
         baseEntity.setDateUpdate(LocalDateTime.now());
-        if (Objects.isNull(baseEntity.getUserUpdate())) {
-            baseEntity.setUserUpdate(USER_SYSTEM_ID);
-        }
-        if (Objects.isNull(baseEntity.getIpNumberUpdate())) {
-            baseEntity.setIpNumberUpdate(InetAddress.getLocalHost().getHostAddress());
-        }
+        baseEntity.setUserUpdate(userId(auditContext));
+        baseEntity.setIpNumberUpdate(ipAddress(auditContext));
     }
 
     @PrePersist
-    public void prePersist(BaseEntity baseEntity) throws UnknownHostException {
-        baseEntity.setDateUpdate(LocalDateTime.now());
+    public void prePersist(BaseEntity baseEntity) {
+        AuditContext auditContext = AuditContextHolder.get();
+        LocalDateTime now = LocalDateTime.now();
+        baseEntity.setDateUpdate(now);
         if (Objects.isNull(baseEntity.getUserUpdate())) {
-            baseEntity.setUserUpdate(USER_SYSTEM_ID);
+            baseEntity.setUserUpdate(userId(auditContext));
         }
-        baseEntity.setDateCreate(LocalDateTime.now());
+        baseEntity.setDateCreate(now);
         if (Objects.isNull(baseEntity.getUserCreate())) {
-            baseEntity.setUserCreate(USER_SYSTEM_ID);
+            baseEntity.setUserCreate(userId(auditContext));
         }
-        if (Objects.isNull(baseEntity.getIpNumberCreate())) {
-            baseEntity.setIpNumberUpdate(InetAddress.getLocalHost().getHostAddress());
+        if (Objects.isNull(baseEntity.getIpNumberUpdate())) {
+            baseEntity.setIpNumberUpdate(ipAddress(auditContext));
         }
         if (Objects.isNull(baseEntity.getIpNumberCreate())) {
-            baseEntity.setIpNumberCreate(InetAddress.getLocalHost().getHostAddress());
+            baseEntity.setIpNumberCreate(ipAddress(auditContext));
+        }
+    }
+
+    private static Long userId(AuditContext auditContext) {
+        return Objects.isNull(auditContext) || Objects.isNull(auditContext.getUserId())
+                ? USER_SYSTEM_ID : auditContext.getUserId();
+    }
+
+    private static String ipAddress(AuditContext auditContext) {
+        return Objects.isNull(auditContext) || Objects.isNull(auditContext.getIpAddress())
+                ? HostIdentity.ADDRESS : auditContext.getIpAddress();
+    }
+
+    /**
+     * Resolves the local address once, on first use; the lookup may go through DNS and used to run on every write.
+     */
+    private static final class HostIdentity {
+
+        private static final String ADDRESS = resolve();
+
+        private static String resolve() {
+            try {
+                return InetAddress.getLocalHost().getHostAddress();
+            } catch (UnknownHostException e) {
+                return InetAddress.getLoopbackAddress().getHostAddress();
+            }
         }
     }
-}
\ No newline at end of file
+}
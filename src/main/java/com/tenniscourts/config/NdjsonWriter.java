@@ -0,0 +1,65 @@
+package com.tenniscourts.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Writes items as newline-delimited JSON while they are produced, flushing the response every few rows instead of
+ * collecting the whole result in memory first.
+ */
+@Component
+@AllArgsConstructor
+public class NdjsonWriter {
+
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    public static final MediaType APPLICATION_NDJSON = MediaType.valueOf(APPLICATION_NDJSON_VALUE);
+
+    private static final int FLUSH_EVERY_ROWS = 100;
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param source pushes every item to the consumer it is given, e.g. a service method reading from a cursor
+     */
+    public <T> StreamingResponseBody write(Consumer<Consumer<T>> source) {
+        return write(source, FLUSH_EVERY_ROWS);
+    }
+
+    /**
+     * @param flushEveryRows rows written between flushes; 1 sends every row as soon as it is produced, e.g. progress
+     */
+    public <T> StreamingResponseBody write(Consumer<Consumer<T>> source, int flushEveryRows) {
+        if (flushEveryRows < 1) {
+            throw new IllegalArgumentException("Rows between flushes must be positive.");
+        }
+        ObjectWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        return outputStream -> {
+            int[] rows = {0};
+            source.accept(item -> {
+                try {
+                    writer.writeValue(outputStream, item);
+                    outputStream.write('\n');
+                    if (++rows[0] % flushEveryRows == 0) {
+                        outputStream.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            outputStream.flush();
+        };
+    }
+}
@@ -0,0 +1,178 @@
+package com.tenniscourts.config.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache holding at most {@code maxEntries} values, each for at most {@code ttl}, evicting the least
+ * recently used entry first.
+ *
+ * <p>Invalidation is safe against in-flight loads and transactions: a value loaded while any invalidation happened is
+ * not stored, and keys invalidated inside a transaction bypass the cache until the transaction completes, after which
+ * they are invalidated again. A committed write therefore never leaves an older value behind in the cache.
+ */
+public class BoundedCache<K, V> {
+
+    private final String name;
+
+    private final int maxEntries;
+
+    private final long ttlNanos;
+
+    private final LongSupplier nanoTime;
+
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final List<Predicate<K>> pending = new CopyOnWriteArrayList<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    private final LongAdder invalidations = new LongAdder();
+
+    private long generation;
+
+    BoundedCache(String name, int maxEntries, long ttlNanos, LongSupplier nanoTime) {
+        if (maxEntries <= 0 || ttlNanos <= 0) {
+            throw new IllegalArgumentException("Cache size and TTL must be positive.");
+        }
+        this.name = name;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        this.nanoTime = nanoTime;
+    }
+
+    /**
+     * Returns the cached value of {@code key}, or loads, caches and returns it. Null values are not cached.
+     */
+    public V get(K key, Supplier<V> loader) {
+        if (!isPending(key)) {
+            V cached = lookup(key);
+            if (cached != null) {
+                hits.increment();
+                return cached;
+            }
+        }
+        misses.increment();
+        long loadGeneration = generation();
+        V value = loader.get();
+        if (value != null) {
+            put(key, value, loadGeneration);
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        invalidateIf(key::equals);
+    }
+
+    /**
+     * Drops every entry whose key matches. Inside a transaction the matching keys also bypass the cache until it
+     * completes.
+     */
+    public void invalidateIf(Predicate<K> keys) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            pending.add(keys);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    pending.remove(keys);
+                    evict(keys);
+                }
+            });
+        }
+        evict(keys);
+    }
+
+    public CacheStatsDTO stats() {
+        long hitCount = hits.sum();
+        long requestCount = hitCount + misses.sum();
+        return CacheStatsDTO.builder()
+                .name(name)
+                .size(size())
+                .maxEntries(maxEntries)
+                .hits(hitCount)
+                .misses(misses.sum())
+                .hitRate(requestCount == 0 ? 0 : (double) hitCount / requestCount)
+                .evictions(evictions.sum())
+                .invalidations(invalidations.sum())
+                .build();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private boolean isPending(K key) {
+        for (Predicate<K> keys : pending) {
+            if (keys.test(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized long generation() {
+        return generation;
+    }
+
+    private synchronized V lookup(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (nanoTime.getAsLong() - entry.loadedAt >= ttlNanos) {
+            entries.remove(key);
+            evictions.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    private synchronized void put(K key, V value, long loadGeneration) {
+        if (loadGeneration != generation || isPending(key)) {
+            return;
+        }
+        entries.put(key, new Entry<>(value, nanoTime.getAsLong()));
+        if (entries.size() > maxEntries) {
+            Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void evict(Predicate<K> keys) {
+        generation++;
+        for (Iterator<K> cachedKeys = entries.keySet().iterator(); cachedKeys.hasNext(); ) {
+            if (keys.test(cachedKeys.next())) {
+                cachedKeys.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long loadedAt;
+
+        private Entry(V value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.tenniscourts.config.cache;
+
+import com.tenniscourts.config.BaseRestController;
+import io.swagger.annotations.ApiOperation;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/caches")
+public class CacheController extends BaseRestController {
+
+    private final ReadThroughCaches readThroughCaches;
+
+    @GetMapping
+    @ApiOperation(value = "Hit, miss and eviction statistics of the read-through caches")
+    public ResponseEntity<List<CacheStatsDTO>> findCacheStats() {
+        return ResponseEntity.ok(readThroughCaches.stats());
+    }
+}
@@ -0,0 +1,18 @@
+package com.tenniscourts.config.cache;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tenniscourts.cache")
+public class CacheProperties {
+
+    private int maxEntries = 1000;
+
+    private Duration ttl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,31 @@
+package com.tenniscourts.config.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class CacheStatsDTO {
+
+    private String name;
+
+    private int size;
+
+    private int maxEntries;
+
+    private long hits;
+
+    private long misses;
+
+    private double hitRate;
+
+    private long evictions;
+
+    private long invalidations;
+}
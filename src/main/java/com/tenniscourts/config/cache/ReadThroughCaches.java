@@ -0,0 +1,33 @@
+package com.tenniscourts.config.cache;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the application's {@link BoundedCache}s with the configured size and TTL and reports their statistics.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReadThroughCaches {
+
+    private final CacheProperties properties;
+
+    private final ConcurrentMap<String, BoundedCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    public <K, V> BoundedCache<K, V> create(String name) {
+        BoundedCache<K, V> cache = new BoundedCache<>(name, properties.getMaxEntries(),
+                properties.getTtl().toNanos(), System::nanoTime);
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException(String.format("Cache %s already exists", name));
+        }
+        return cache;
+    }
+
+    public List<CacheStatsDTO> stats() {
+        return caches.values().stream().map(BoundedCache::stats).collect(Collectors.toList());
+    }
+}
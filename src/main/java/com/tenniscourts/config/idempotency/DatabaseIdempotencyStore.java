@@ -0,0 +1,82 @@
+package com.tenniscourts.config.idempotency;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Responses in the idempotency_record table. Expired rows are ignored on reads and deleted by the first save after
+ * each {@link #PURGE_INTERVAL_MINUTES} minutes.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tenniscourts.idempotency", name = "store", havingValue = "DATABASE")
+public class DatabaseIdempotencyStore implements IdempotencyStore {
+
+    static final long PURGE_INTERVAL_MINUTES = 1;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final Clock clock;
+
+    private final AtomicReference<LocalDateTime> nextPurge = new AtomicReference<>(LocalDateTime.MIN);
+
+    public DatabaseIdempotencyStore(IdempotencyRecordRepository idempotencyRecordRepository, Clock clock) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<IdempotentResponse> find(String key) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        return idempotencyRecordRepository.findById(key)
+                .filter(record -> record.getExpiresAt().isAfter(now))
+                .map(record -> new IdempotentResponse(record.getFingerprint(), record.getStatus(),
+                        parseHeaders(record.getHeaders()), record.getBody(), record.getExpiresAt()));
+    }
+
+    @Override
+    public void save(String key, IdempotentResponse response) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime purgeAt = nextPurge.get();
+        if (!now.isBefore(purgeAt) && nextPurge.compareAndSet(purgeAt, now.plusMinutes(PURGE_INTERVAL_MINUTES))) {
+            idempotencyRecordRepository.deleteExpired(now);
+        }
+        idempotencyRecordRepository.save(IdempotencyRecord.builder()
+                .idempotencyKey(key)
+                .fingerprint(response.getFingerprint())
+                .status(response.getStatus())
+                .headers(formatHeaders(response.getHeaders()))
+                .body(response.getBody())
+                .expiresAt(response.getExpiresAt())
+                .build());
+    }
+
+    private static String formatHeaders(Map<String, List<String>> headers) {
+        StringBuilder formatted = new StringBuilder();
+        headers.forEach((name, values) -> values.forEach(value ->
+                formatted.append(name).append(": ").append(value).append('\n')));
+        return formatted.toString();
+    }
+
+    private static Map<String, List<String>> parseHeaders(String formatted) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (formatted == null) {
+            return headers;
+        }
+        for (String line : formatted.split("\n")) {
+            int colon = line.indexOf(": ");
+            if (colon > 0) {
+                headers.computeIfAbsent(line.substring(0, colon), name -> new ArrayList<>())
+                        .add(line.substring(colon + 2));
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,259 @@
+package com.tenniscourts.config.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenniscourts.exceptions.ErrorDetails;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.servlet.FilterChain;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletException;
+import javax.servlet.ServletInputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+/**
+ * Makes POST /reservations and POST /schedules idempotent for clients sending an {@value #IDEMPOTENCY_KEY_HEADER}
+ * header. The first request with a key runs and its response is stored for the configured TTL; later requests with
+ * the key get that response replayed, marked with {@value #REPLAYED_HEADER}, without reaching the controller. Requests
+ * arriving while the first one still runs wait for it rather than running themselves; this coalescing is local to the
+ * instance, so with a shared store two instances can still both run a request whose key neither has stored yet.
+ * Reusing a key for a different request body is rejected with 422. Server errors are not stored, so the request can
+ * be retried under the same key.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    static final int MAX_KEY_LENGTH = 255;
+
+    private static final Set<String> IDEMPOTENT_PATHS = Collections.unmodifiableSet(
+            new HashSet<>(Arrays.asList("/reservations", "/schedules")));
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final IdempotencyProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<String, CompletableFuture<Optional<IdempotentResponse>>> inFlight =
+            new ConcurrentHashMap<>();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+                || !IDEMPOTENT_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()))
+                || !StringUtils.hasText(request.getHeader(IDEMPOTENCY_KEY_HEADER));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String idempotencyKey = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            writeError(response, HttpStatus.BAD_REQUEST, String.format("%s must be at most %s characters.",
+                    IDEMPOTENCY_KEY_HEADER, MAX_KEY_LENGTH), request);
+            return;
+        }
+        String key = request.getMethod() + " " + request.getRequestURI() + " " + idempotencyKey;
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String fingerprint = fingerprint(cachedRequest.body);
+
+        while (true) {
+            Optional<IdempotentResponse> stored = idempotencyStore.find(key);
+            if (stored.isPresent()) {
+                replay(stored.get(), fingerprint, request, response);
+                return;
+            }
+            CompletableFuture<Optional<IdempotentResponse>> execution = new CompletableFuture<>();
+            CompletableFuture<Optional<IdempotentResponse>> running = inFlight.putIfAbsent(key, execution);
+            if (running == null) {
+                try {
+                    // The previous owner of the key may have stored its response and left between the lookup above
+                    // and the claim, so look again before running the request.
+                    stored = idempotencyStore.find(key);
+                    if (stored.isPresent()) {
+                        execution.complete(stored);
+                        replay(stored.get(), fingerprint, request, response);
+                        return;
+                    }
+                    execution.complete(execute(key, fingerprint, cachedRequest, response, filterChain));
+                } finally {
+                    execution.complete(Optional.empty());
+                    inFlight.remove(key, execution);
+                }
+                return;
+            }
+            Optional<IdempotentResponse> executed;
+            try {
+                executed = running.get(properties.getInFlightTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                writeError(response, HttpStatus.CONFLICT, String.format(
+                        "A request with this %s is still in progress.", IDEMPOTENCY_KEY_HEADER), request);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                throw new ServletException(e.getCause());
+            }
+            if (executed.isPresent()) {
+                replay(executed.get(), fingerprint, request, response);
+                return;
+            }
+            // The request it waited for failed without a stored response: run it again, coalescing as before.
+        }
+    }
+
+    /**
+     * Runs the request and stores its response unless it is a server error.
+     *
+     * @return the stored response, empty if it was not stored
+     */
+    private Optional<IdempotentResponse> execute(String key, String fingerprint, CachedBodyRequest request,
+            HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, cachingResponse);
+
+        Optional<IdempotentResponse> stored = Optional.empty();
+        if (cachingResponse.getStatus() < HttpStatus.INTERNAL_SERVER_ERROR.value()) {
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (String name : cachingResponse.getHeaderNames()) {
+                if (!HttpHeaders.CONTENT_LENGTH.equalsIgnoreCase(name)) {
+                    headers.put(name, new ArrayList<>(cachingResponse.getHeaders(name)));
+                }
+            }
+            if (cachingResponse.getContentType() != null) {
+                headers.put(HttpHeaders.CONTENT_TYPE, Collections.singletonList(cachingResponse.getContentType()));
+            }
+            IdempotentResponse idempotentResponse = new IdempotentResponse(fingerprint, cachingResponse.getStatus(),
+                    headers, cachingResponse.getContentAsByteArray(),
+                    LocalDateTime.now(clock).plus(properties.getTtl()));
+            idempotencyStore.save(key, idempotentResponse);
+            stored = Optional.of(idempotentResponse);
+        }
+        cachingResponse.copyBodyToResponse();
+        return stored;
+    }
+
+    private void replay(IdempotentResponse stored, String fingerprint, HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+        if (!stored.getFingerprint().equals(fingerprint)) {
+            writeError(response, HttpStatus.UNPROCESSABLE_ENTITY, String.format(
+                    "%s was already used for a different request.", IDEMPOTENCY_KEY_HEADER), request);
+            return;
+        }
+        response.setStatus(stored.getStatus());
+        stored.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, Boolean.TRUE.toString());
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void writeError(HttpServletResponse response, HttpStatus status, String message,
+            HttpServletRequest request) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(),
+                new ErrorDetails(LocalDateTime.now(clock), message, "uri=" + request.getRequestURI()));
+    }
+
+    static String fingerprint(byte[] body) {
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Reads the body up front so it can be fingerprinted and still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                    encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding)));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+            };
+        }
+    }
+}
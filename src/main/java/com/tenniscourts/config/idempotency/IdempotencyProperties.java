@@ -0,0 +1,31 @@
+package com.tenniscourts.config.idempotency;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tenniscourts.idempotency")
+public class IdempotencyProperties {
+
+    private IdempotencyStoreType store = IdempotencyStoreType.MEMORY;
+
+    /**
+     * How long a response is replayed for its key.
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Most responses the in-memory store keeps; the oldest are dropped first.
+     */
+    private int maxEntries = 10_000;
+
+    /**
+     * How long a duplicate waits for the request executing under its key before giving up with 409.
+     */
+    private Duration inFlightTimeout = Duration.ofSeconds(30);
+}
@@ -0,0 +1,16 @@
+package com.tenniscourts.config.idempotency;
+
+import java.util.Optional;
+
+/**
+ * Keeps the responses of idempotent requests by key until they expire.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * @return the unexpired response stored for the key
+     */
+    Optional<IdempotentResponse> find(String key);
+
+    void save(String key, IdempotentResponse response);
+}
@@ -0,0 +1,16 @@
+package com.tenniscourts.config.idempotency;
+
+/**
+ * Where replayable responses are kept.
+ */
+public enum IdempotencyStoreType {
+    /**
+     * A bounded in-memory map; responses are lost on restart.
+     */
+    MEMORY,
+    /**
+     * The idempotency_record table, surviving restarts. Instances using the same database replay each other's stored
+     * responses, but requests still in progress are only coalesced within one instance.
+     */
+    DATABASE
+}
@@ -0,0 +1,26 @@
+package com.tenniscourts.config.idempotency;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Everything needed to replay a response: status, headers and body, with the fingerprint of the request that produced
+ * it so a key reused for a different request can be told apart.
+ */
+@Getter
+@AllArgsConstructor
+public class IdempotentResponse {
+
+    private final String fingerprint;
+
+    private final int status;
+
+    private final Map<String, List<String>> headers;
+
+    private final byte[] body;
+
+    private final LocalDateTime expiresAt;
+}
@@ -0,0 +1,56 @@
+package com.tenniscourts.config.idempotency;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Responses in insertion order, which is also expiry order since every entry lives for the same TTL. Expired entries
+ * are dropped from the head on every access and the oldest ones beyond {@code maxEntries} on every save.
+ */
+@Component
+@ConditionalOnProperty(prefix = "tenniscourts.idempotency", name = "store", havingValue = "MEMORY",
+        matchIfMissing = true)
+public class MemoryIdempotencyStore implements IdempotencyStore {
+
+    private final int maxEntries;
+
+    private final Clock clock;
+
+    private final LinkedHashMap<String, IdempotentResponse> responses = new LinkedHashMap<>();
+
+    public MemoryIdempotencyStore(IdempotencyProperties properties, Clock clock) {
+        this.maxEntries = properties.getMaxEntries();
+        this.clock = clock;
+    }
+
+    @Override
+    public synchronized Optional<IdempotentResponse> find(String key) {
+        evictExpired();
+        return Optional.ofNullable(responses.get(key));
+    }
+
+    @Override
+    public synchronized void save(String key, IdempotentResponse response) {
+        evictExpired();
+        responses.remove(key);
+        responses.put(key, response);
+        for (Iterator<String> keys = responses.keySet().iterator(); responses.size() > maxEntries; ) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private void evictExpired() {
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (Iterator<Map.Entry<String, IdempotentResponse>> entries = responses.entrySet().iterator();
+                entries.hasNext() && !entries.next().getValue().getExpiresAt().isAfter(now); ) {
+            entries.remove();
+        }
+    }
+}
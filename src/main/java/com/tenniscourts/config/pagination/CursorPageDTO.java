@@ -0,0 +1,34 @@
+package com.tenniscourts.config.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    private String nextCursor;
+
+    /**
+     * Builds a page from up to {@code limit + 1} rows; the extra row only tells that another page exists.
+     */
+    public static <E, T> CursorPageDTO<T> of(List<E> rows, int limit, Function<E, PageCursor> cursorOf,
+            Function<List<E>, List<T>> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        return CursorPageDTO.<T>builder()
+                .items(mapper.apply(pageRows))
+                .nextCursor(hasNext ? cursorOf.apply(pageRows.get(limit - 1)).encode() : null)
+                .build();
+    }
+}
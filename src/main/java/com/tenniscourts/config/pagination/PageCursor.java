@@ -0,0 +1,56 @@
+package com.tenniscourts.config.pagination;
+
+import static java.util.Objects.isNull;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Position after the last row of a page, ordered by {@code (startDateTime, id)}. Clients only ever see it as an opaque
+ * token.
+ */
+@Getter
+@AllArgsConstructor
+public class PageCursor {
+
+    public static final String DEFAULT_LIMIT = "50";
+
+    public static final int MAX_LIMIT = 500;
+
+    private static final String SEPARATOR = "|";
+
+    private final LocalDateTime startDateTime;
+
+    private final Long id;
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((startDateTime + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the decoded cursor, or null when no token was given
+     */
+    public static PageCursor decode(String token) {
+        if (isNull(token) || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = decoded.indexOf(SEPARATOR);
+            return new PageCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.valueOf(decoded.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid page cursor.");
+        }
+    }
+
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException(String.format("Page limit must be between 1 and %s.", MAX_LIMIT));
+        }
+    }
+}
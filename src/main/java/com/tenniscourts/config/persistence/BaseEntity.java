@@ -1,5 +1,6 @@
 package com.tenniscourts.config.persistence;
 
+import com.tenniscourts.audit.AuditJournalEntityListener;
 import com.tenniscourts.audit.CustomAuditEntityListener;
 import java.io.Serializable;
 import java.time.LocalDateTime;
@@ -19,7 +20,7 @@ import org.springframework.data.annotation.LastModifiedDate;
 @Getter
 @Setter
 @EqualsAndHashCode
-@EntityListeners(CustomAuditEntityListener.class)
+@EntityListeners({CustomAuditEntityListener.class, AuditJournalEntityListener.class})
 public class BaseEntity<ID> implements Serializable {
 
     @Id
@@ -46,4 +47,10 @@ public class BaseEntity<ID> implements Serializable {
     @CreatedDate
     private LocalDateTime dateCreate;
 
+    /**
+     * State worth keeping in the audit journal for this entity, or null to record only that it was written.
+     */
+    public String auditDetails() {
+        return null;
+    }
 }
@@ -3,6 +3,8 @@ package com.tenniscourts.guests;
 import com.tenniscourts.config.persistence.BaseEntity;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
 import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -28,4 +30,8 @@ public class Guest extends BaseEntity<Long> {
     @NotNull
     private String name;
 
+    @Column
+    @Enumerated(EnumType.STRING)
+    private GuestClass guestClass;
+
 }
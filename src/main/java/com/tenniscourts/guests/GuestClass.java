@@ -0,0 +1,10 @@
+package com.tenniscourts.guests;
+
+/**
+ * Class of a guest for refund policies. Guests without one are {@link #STANDARD}.
+ */
+public enum GuestClass {
+    STANDARD,
+    MEMBER,
+    VIP
+}
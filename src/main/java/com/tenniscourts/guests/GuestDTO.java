@@ -18,4 +18,6 @@ public class GuestDTO {
 
     @NotNull
     private String name;
+
+    private GuestClass guestClass;
 }
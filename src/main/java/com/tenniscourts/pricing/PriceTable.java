@@ -0,0 +1,88 @@
+package com.tenniscourts.pricing;
+
+import static java.util.Objects.isNull;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Pricing rules compiled into one price per hour of the week: an array for each court with rules of its own and one
+ * shared by all other courts. Each hour gets the price of the most specific rule covering it (court before day before
+ * hours), the latest rule winning ties, and {@code basePrice} when none does. Immutable; lookups do not allocate.
+ */
+final class PriceTable {
+
+    static final int HOURS_PER_WEEK = 7 * 24;
+
+    private final Map<Long, BigDecimal[]> pricesByTennisCourt;
+
+    private final BigDecimal[] anyTennisCourtPrices;
+
+    private PriceTable(Map<Long, BigDecimal[]> pricesByTennisCourt, BigDecimal[] anyTennisCourtPrices) {
+        this.pricesByTennisCourt = pricesByTennisCourt;
+        this.anyTennisCourtPrices = anyTennisCourtPrices;
+    }
+
+    static PriceTable compile(Collection<PricingRule> rules, BigDecimal basePrice) {
+        // Least specific first, so more specific and later rules overwrite the hours they cover.
+        List<PricingRule> ordered = rules.stream()
+                .sorted(Comparator.comparingInt(PriceTable::specificity)
+                        .thenComparing(PricingRule::getId, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .collect(Collectors.toList());
+        Map<Long, BigDecimal[]> pricesByTennisCourt = new HashMap<>();
+        ordered.stream()
+                .map(PricingRule::getTennisCourtId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(tennisCourtId -> pricesByTennisCourt.put(tennisCourtId,
+                        prices(tennisCourtId, ordered, basePrice)));
+        return new PriceTable(pricesByTennisCourt, prices(null, ordered, basePrice));
+    }
+
+    BigDecimal price(Long tennisCourtId, LocalDateTime startDateTime) {
+        BigDecimal[] prices = isNull(tennisCourtId)
+                ? anyTennisCourtPrices : pricesByTennisCourt.getOrDefault(tennisCourtId, anyTennisCourtPrices);
+        return prices[hourOfWeek(startDateTime.getDayOfWeek(), startDateTime.getHour())];
+    }
+
+    private static BigDecimal[] prices(Long tennisCourtId, List<PricingRule> ordered, BigDecimal basePrice) {
+        BigDecimal[] prices = new BigDecimal[HOURS_PER_WEEK];
+        Arrays.fill(prices, basePrice);
+        for (PricingRule rule : ordered) {
+            if (nonMatching(rule.getTennisCourtId(), tennisCourtId)) {
+                continue;
+            }
+            int startHour = isNull(rule.getStartHour()) ? 0 : rule.getStartHour();
+            int endHour = isNull(rule.getEndHour()) ? 24 : rule.getEndHour();
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                if (isNull(rule.getDayOfWeek()) || rule.getDayOfWeek() == dayOfWeek) {
+                    Arrays.fill(prices, hourOfWeek(dayOfWeek, startHour), hourOfWeek(dayOfWeek, endHour),
+                            rule.getPrice());
+                }
+            }
+        }
+        return prices;
+    }
+
+    private static boolean nonMatching(Long ruleTennisCourtId, Long tennisCourtId) {
+        return !isNull(ruleTennisCourtId) && !ruleTennisCourtId.equals(tennisCourtId);
+    }
+
+    private static int specificity(PricingRule rule) {
+        return (isNull(rule.getTennisCourtId()) ? 0 : 4) + (isNull(rule.getDayOfWeek()) ? 0 : 2)
+                + (isNull(rule.getStartHour()) && isNull(rule.getEndHour()) ? 0 : 1);
+    }
+
+    private static int hourOfWeek(DayOfWeek dayOfWeek, int hour) {
+        return dayOfWeek.ordinal() * 24 + hour;
+    }
+}
@@ -0,0 +1,7 @@
+package com.tenniscourts.pricing;
+
+/**
+ * Published once new prices are in effect, so anything showing prices can drop what it derived from the old ones.
+ */
+public class PricesChangedEvent {
+}
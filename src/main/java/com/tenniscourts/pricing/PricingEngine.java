@@ -0,0 +1,45 @@
+package com.tenniscourts.pricing;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Prices slots from the pricing rules in the database, compiled into a {@link PriceTable} on startup and on every
+ * {@link #reload()}. The table is replaced with a single write, so a lookup sees either the old prices or the new ones,
+ * never a mix. Hours no rule covers cost {@link #BASE_PRICE}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PricingEngine {
+
+    public static final BigDecimal BASE_PRICE = new BigDecimal(10);
+
+    private final PricingRuleRepository pricingRuleRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile PriceTable table = PriceTable.compile(Collections.emptyList(), BASE_PRICE);
+
+    /**
+     * Recompiles the rules from the database and swaps them in. Reloads run one at a time, so the last one to finish
+     * has read every rule change committed before it started.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        table = PriceTable.compile(pricingRuleRepository.findAll(), BASE_PRICE);
+        eventPublisher.publishEvent(new PricesChangedEvent());
+    }
+
+    /**
+     * @return the price of a slot of the court starting at {@code startDateTime}
+     */
+    public BigDecimal price(Long tennisCourtId, LocalDateTime startDateTime) {
+        return table.price(tennisCourtId, startDateTime);
+    }
+}
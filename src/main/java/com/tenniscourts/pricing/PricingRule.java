@@ -0,0 +1,50 @@
+package com.tenniscourts.pricing;
+
+import com.tenniscourts.config.persistence.BaseEntity;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Price of the slots of a court starting on a day of the week between {@code startHour} (inclusive) and
+ * {@code endHour} (exclusive). A null court or day means every court or every day, and missing hours mean the whole
+ * day.
+ */
+@Entity
+@Table
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class PricingRule extends BaseEntity<Long> {
+
+    @Column
+    private Long tennisCourtId;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private DayOfWeek dayOfWeek;
+
+    @Column
+    private Integer startHour;
+
+    @Column
+    private Integer endHour;
+
+    @Column
+    @NotNull
+    private BigDecimal price;
+}
@@ -0,0 +1,54 @@
+package com.tenniscourts.pricing;
+
+import com.tenniscourts.config.BaseRestController;
+import io.swagger.annotations.ApiOperation;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/pricing-rules")
+public class PricingRuleController extends BaseRestController {
+
+    private final PricingRuleService pricingRuleService;
+
+    @GetMapping
+    @ApiOperation(value = "List all pricing rules")
+    public ResponseEntity<List<PricingRuleDTO>> findAllPricingRules() {
+        return ResponseEntity.ok(pricingRuleService.findAll());
+    }
+
+    @GetMapping("/{pricingRuleId}")
+    @ApiOperation(value = "Find pricing rule by id")
+    public ResponseEntity<PricingRuleDTO> findPricingRuleById(@PathVariable Long pricingRuleId) {
+        return ResponseEntity.ok(pricingRuleService.findById(pricingRuleId));
+    }
+
+    @PostMapping
+    @ApiOperation(value = "Add a pricing rule")
+    public ResponseEntity<PricingRuleDTO> addPricingRule(@RequestBody PricingRuleDTO pricingRule) {
+        return ResponseEntity.ok(pricingRuleService.add(pricingRule));
+    }
+
+    @PutMapping
+    @ApiOperation(value = "Update a pricing rule")
+    public ResponseEntity<PricingRuleDTO> updatePricingRule(@RequestBody PricingRuleDTO pricingRule) {
+        return ResponseEntity.ok(pricingRuleService.update(pricingRule));
+    }
+
+    @DeleteMapping("/{pricingRuleId}")
+    @ApiOperation(value = "Delete a pricing rule by id")
+    public ResponseEntity<Void> deletePricingRule(@PathVariable Long pricingRuleId) {
+        pricingRuleService.delete(pricingRuleId);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.tenniscourts.pricing;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class PricingRuleDTO {
+
+    private Long id;
+
+    private Long tennisCourtId;
+
+    private DayOfWeek dayOfWeek;
+
+    private Integer startHour;
+
+    private Integer endHour;
+
+    @NotNull
+    private BigDecimal price;
+}
@@ -0,0 +1,16 @@
+package com.tenniscourts.pricing;
+
+import java.util.List;
+import org.mapstruct.InheritInverseConfiguration;
+import org.mapstruct.Mapper;
+
+@Mapper(componentModel = "spring")
+public interface PricingRuleMapper {
+
+    PricingRule map(PricingRuleDTO source);
+
+    @InheritInverseConfiguration
+    PricingRuleDTO map(PricingRule source);
+
+    List<PricingRuleDTO> map(List<PricingRule> source);
+}
@@ -0,0 +1,6 @@
+package com.tenniscourts.pricing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PricingRuleRepository extends JpaRepository<PricingRule, Long> {
+}
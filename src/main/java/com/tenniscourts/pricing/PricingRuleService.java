@@ -0,0 +1,72 @@
+package com.tenniscourts.pricing;
+
+import static java.util.Objects.isNull;
+
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Maintains the pricing rules. Every change is committed before the {@link PricingEngine} reloads, so new prices apply
+ * to bookings as soon as the request returns.
+ */
+@Service
+@AllArgsConstructor
+public class PricingRuleService {
+
+    private final PricingRuleRepository pricingRuleRepository;
+
+    private final PricingRuleMapper pricingRuleMapper;
+
+    private final PricingEngine pricingEngine;
+
+    public List<PricingRuleDTO> findAll() {
+        return pricingRuleMapper.map(pricingRuleRepository.findAll());
+    }
+
+    public PricingRuleDTO findById(Long pricingRuleId) {
+        return pricingRuleRepository.findById(pricingRuleId)
+                .map(pricingRuleMapper::map)
+                .orElseThrow(() -> {
+                    throw new EntityNotFoundException(
+                            String.format("Pricing rule with id %s was not found", pricingRuleId));
+                });
+    }
+
+    public PricingRuleDTO add(PricingRuleDTO pricingRuleDTO) {
+        validate(pricingRuleDTO);
+        pricingRuleDTO.setId(null);
+        return save(pricingRuleDTO);
+    }
+
+    public PricingRuleDTO update(PricingRuleDTO pricingRuleDTO) {
+        findById(pricingRuleDTO.getId());
+        validate(pricingRuleDTO);
+        return save(pricingRuleDTO);
+    }
+
+    public void delete(Long pricingRuleId) {
+        findById(pricingRuleId);
+        pricingRuleRepository.deleteById(pricingRuleId);
+        pricingEngine.reload();
+    }
+
+    private PricingRuleDTO save(PricingRuleDTO pricingRuleDTO) {
+        PricingRuleDTO saved = pricingRuleMapper.map(pricingRuleRepository.save(pricingRuleMapper.map(pricingRuleDTO)));
+        pricingEngine.reload();
+        return saved;
+    }
+
+    private static void validate(PricingRuleDTO pricingRuleDTO) {
+        if (isNull(pricingRuleDTO.getPrice()) || pricingRuleDTO.getPrice().compareTo(BigDecimal.ZERO) < 0) {
+            throw new IllegalArgumentException("Price is required and cannot be negative.");
+        }
+        int startHour = isNull(pricingRuleDTO.getStartHour()) ? 0 : pricingRuleDTO.getStartHour();
+        int endHour = isNull(pricingRuleDTO.getEndHour()) ? 24 : pricingRuleDTO.getEndHour();
+        if (startHour < 0 || endHour > 24 || startHour >= endHour) {
+            throw new IllegalArgumentException("Hours must satisfy 0 <= start hour < end hour <= 24.");
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.tenniscourts.refundpolicies;
+
+import static java.util.Objects.isNull;
+
+import com.tenniscourts.guests.GuestClass;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes refunds from the refund policy tiers in the database, compiled into a {@link RefundPolicyTable} on startup
+ * and on every {@link #reload()}. Without tiers in the database the {@link #DEFAULT_TIERS} apply. Hours are counted on
+ * the injected clock at its full precision, and beyond reading it nothing is allocated unless a partial refund has to
+ * be multiplied out.
+ */
+@Component
+public class RefundPolicyEngine {
+
+    /**
+     * Full refund from 24 hours ahead, 75% from 12 hours, half from 2 hours and a quarter until the start.
+     */
+    static final List<RefundPolicyTier> DEFAULT_TIERS = Collections.unmodifiableList(Arrays.asList(
+            tier(24, "1"), tier(12, "0.75"), tier(2, "0.5"), tier(0, "0.25")));
+
+    private static final long SECONDS_PER_HOUR = 3_600L;
+
+    private final RefundPolicyTierRepository refundPolicyTierRepository;
+
+    private final Clock clock;
+
+    private final ZoneRules zoneRules;
+
+    private volatile RefundPolicyTable table = RefundPolicyTable.compile(DEFAULT_TIERS);
+
+    private volatile OffsetWindow offsetWindow;
+
+    public RefundPolicyEngine(RefundPolicyTierRepository refundPolicyTierRepository, Clock clock) {
+        this.refundPolicyTierRepository = refundPolicyTierRepository;
+        this.clock = clock;
+        this.zoneRules = clock.getZone().getRules();
+    }
+
+    /**
+     * Recompiles the tiers from the database and swaps them in; evaluations in flight finish on the previous table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        List<RefundPolicyTier> tiers = refundPolicyTierRepository.findAll();
+        table = RefundPolicyTable.compile(tiers.isEmpty() ? DEFAULT_TIERS : tiers);
+    }
+
+    /**
+     * @return the part of {@code value} refunded when a reservation of a schedule of the court starting at
+     * {@code startDateTime} is cancelled now, zero once it has started
+     */
+    public BigDecimal refundValue(Long tennisCourtId, GuestClass guestClass, LocalDateTime startDateTime,
+            BigDecimal value) {
+        Instant now = clock.instant();
+        // Compared at the clock's full precision, so a start just under a tier's hour mark never lands in that tier
+        long secondsBefore = startDateTime.toEpochSecond(ZoneOffset.UTC) - localEpochSecond(now)
+                - (startDateTime.getNano() < now.getNano() ? 1 : 0);
+        if (secondsBefore < 0) {
+            return BigDecimal.ZERO;
+        }
+        BigDecimal refundRate = table.refundRate(tennisCourtId, isNull(guestClass) ? GuestClass.STANDARD : guestClass,
+                startDateTime.getMonth(), secondsBefore / SECONDS_PER_HOUR);
+        if (refundRate.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return BigDecimal.ONE.equals(refundRate) ? value : value.multiply(refundRate);
+    }
+
+    /**
+     * Whole seconds from the epoch to the local date-time of {@code now}, with the zone offset cached until its next
+     * transition.
+     */
+    private long localEpochSecond(Instant now) {
+        long millis = now.toEpochMilli();
+        OffsetWindow window = offsetWindow;
+        if (isNull(window) || millis < window.from || millis >= window.until) {
+            window = new OffsetWindow(zoneRules, millis);
+            offsetWindow = window;
+        }
+        return now.getEpochSecond() + window.offsetSeconds;
+    }
+
+    private static RefundPolicyTier tier(int minHoursBefore, String refundRate) {
+        return RefundPolicyTier.builder()
+                .minHoursBefore(minHoursBefore)
+                .refundRate(new BigDecimal(refundRate))
+                .build();
+    }
+
+    private static final class OffsetWindow {
+
+        private final long from;
+
+        private final long until;
+
+        private final long offsetSeconds;
+
+        private OffsetWindow(ZoneRules zoneRules, long millis) {
+            Instant instant = Instant.ofEpochMilli(millis);
+            ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+            this.from = millis;
+            this.until = isNull(next) ? Long.MAX_VALUE : next.toEpochSecond() * 1000;
+            this.offsetSeconds = zoneRules.getOffset(instant).getTotalSeconds();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.tenniscourts.refundpolicies;
+
+import static java.util.Objects.isNull;
+
+import com.tenniscourts.guests.GuestClass;
+import java.math.BigDecimal;
+import java.time.Month;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import lombok.Value;
+
+/**
+ * Refund tiers compiled for lookup. Each court with tiers of its own gets one cell per month and guest class, and all
+ * other courts share another set of cells. A cell holds the tiers of the most specific scope covering it (court before
+ * guest class before season), sorted by descending minimum hours. Immutable; lookups do not allocate.
+ */
+final class RefundPolicyTable {
+
+    private static final Month[] MONTHS = Month.values();
+
+    private static final GuestClass[] GUEST_CLASSES = GuestClass.values();
+
+    private static final Tiers NO_REFUND = new Tiers(new long[0], new BigDecimal[0]);
+
+    private final Map<Long, Tiers[]> cellsByTennisCourt;
+
+    private final Tiers[] anyTennisCourtCells;
+
+    private RefundPolicyTable(Map<Long, Tiers[]> cellsByTennisCourt, Tiers[] anyTennisCourtCells) {
+        this.cellsByTennisCourt = cellsByTennisCourt;
+        this.anyTennisCourtCells = anyTennisCourtCells;
+    }
+
+    static RefundPolicyTable compile(Collection<RefundPolicyTier> tiers) {
+        Map<Scope, Tiers> tiersByScope = new LinkedHashMap<>();
+        tiers.stream()
+                .collect(Collectors.groupingBy(Scope::of, LinkedHashMap::new, Collectors.toList()))
+                .forEach((scope, scopeTiers) -> tiersByScope.put(scope, Tiers.of(scopeTiers)));
+
+        Map<Long, Tiers[]> cellsByTennisCourt = new HashMap<>();
+        tiersByScope.keySet().stream()
+                .map(Scope::getTennisCourtId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(tennisCourtId -> cellsByTennisCourt.put(tennisCourtId, cells(tennisCourtId, tiersByScope)));
+        return new RefundPolicyTable(cellsByTennisCourt, cells(null, tiersByScope));
+    }
+
+    /**
+     * @return the share of the value refunded {@code hoursBefore} hours ahead of a start in {@code month}, zero when no
+     * tier applies
+     */
+    BigDecimal refundRate(Long tennisCourtId, GuestClass guestClass, Month month, long hoursBefore) {
+        Tiers[] cells = isNull(tennisCourtId)
+                ? anyTennisCourtCells : cellsByTennisCourt.getOrDefault(tennisCourtId, anyTennisCourtCells);
+        return cells[cell(month, guestClass)].rate(hoursBefore);
+    }
+
+    private static Tiers[] cells(Long tennisCourtId, Map<Scope, Tiers> tiersByScope) {
+        Tiers[] cells = new Tiers[MONTHS.length * GUEST_CLASSES.length];
+        for (Month month : MONTHS) {
+            for (GuestClass guestClass : GUEST_CLASSES) {
+                Scope best = null;
+                for (Scope scope : tiersByScope.keySet()) {
+                    if (scope.covers(tennisCourtId, guestClass, month)
+                            && (isNull(best) || scope.specificity() > best.specificity())) {
+                        best = scope;
+                    }
+                }
+                cells[cell(month, guestClass)] = isNull(best) ? NO_REFUND : tiersByScope.get(best);
+            }
+        }
+        return cells;
+    }
+
+    private static int cell(Month month, GuestClass guestClass) {
+        return month.ordinal() * GUEST_CLASSES.length + guestClass.ordinal();
+    }
+
+    @Value
+    private static class Scope {
+
+        Long tennisCourtId;
+
+        GuestClass guestClass;
+
+        Month seasonStart;
+
+        Month seasonEnd;
+
+        static Scope of(RefundPolicyTier tier) {
+            boolean allYear = isNull(tier.getSeasonStart()) || isNull(tier.getSeasonEnd());
+            return new Scope(tier.getTennisCourtId(), tier.getGuestClass(),
+                    allYear ? null : tier.getSeasonStart(), allYear ? null : tier.getSeasonEnd());
+        }
+
+        boolean covers(Long tennisCourtId, GuestClass guestClass, Month month) {
+            return (isNull(this.tennisCourtId) || this.tennisCourtId.equals(tennisCourtId))
+                    && (isNull(this.guestClass) || this.guestClass == guestClass)
+                    && (isNull(seasonStart) || (seasonStart.compareTo(seasonEnd) <= 0
+                    ? month.compareTo(seasonStart) >= 0 && month.compareTo(seasonEnd) <= 0
+                    : month.compareTo(seasonStart) >= 0 || month.compareTo(seasonEnd) <= 0));
+        }
+
+        int specificity() {
+            return (isNull(tennisCourtId) ? 0 : 4) + (isNull(guestClass) ? 0 : 2) + (isNull(seasonStart) ? 0 : 1);
+        }
+    }
+
+    private static final class Tiers {
+
+        private final long[] minHoursBefore;
+
+        private final BigDecimal[] refundRates;
+
+        private Tiers(long[] minHoursBefore, BigDecimal[] refundRates) {
+            this.minHoursBefore = minHoursBefore;
+            this.refundRates = refundRates;
+        }
+
+        static Tiers of(List<RefundPolicyTier> tiers) {
+            List<RefundPolicyTier> sorted = tiers.stream()
+                    .sorted(Comparator.comparing(RefundPolicyTier::getMinHoursBefore).reversed())
+                    .collect(Collectors.toList());
+            long[] minHoursBefore = new long[sorted.size()];
+            BigDecimal[] refundRates = new BigDecimal[sorted.size()];
+            for (int i = 0; i < sorted.size(); i++) {
+                minHoursBefore[i] = sorted.get(i).getMinHoursBefore();
+                // 0.7500 from the database and the literal 0.75 must refund the same amount at the same scale
+                refundRates[i] = sorted.get(i).getRefundRate().stripTrailingZeros();
+            }
+            return new Tiers(minHoursBefore, refundRates);
+        }
+
+        BigDecimal rate(long hoursBefore) {
+            for (int i = 0; i < minHoursBefore.length; i++) {
+                if (hoursBefore >= minHoursBefore[i]) {
+                    return refundRates[i];
+                }
+            }
+            return BigDecimal.ZERO;
+        }
+    }
+}
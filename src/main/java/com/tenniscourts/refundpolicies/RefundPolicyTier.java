@@ -0,0 +1,57 @@
+package com.tenniscourts.refundpolicies;
+
+import com.tenniscourts.config.persistence.BaseEntity;
+import com.tenniscourts.guests.GuestClass;
+import java.math.BigDecimal;
+import java.time.Month;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Share of the reservation value refunded when it is cancelled at least {@code minHoursBefore} hours before the start
+ * of its schedule. A tier applies to one court, guest class and season (months {@code seasonStart} to
+ * {@code seasonEnd}, wrapping around the new year when needed), or to all of them where those are null.
+ */
+@Entity
+@Table
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class RefundPolicyTier extends BaseEntity<Long> {
+
+    @Column
+    private Long tennisCourtId;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private GuestClass guestClass;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private Month seasonStart;
+
+    @Column
+    @Enumerated(EnumType.STRING)
+    private Month seasonEnd;
+
+    @Column
+    @NotNull
+    private Integer minHoursBefore;
+
+    @Column(precision = 5, scale = 4)
+    @NotNull
+    private BigDecimal refundRate;
+}
@@ -0,0 +1,6 @@
+package com.tenniscourts.refundpolicies;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RefundPolicyTierRepository extends JpaRepository<RefundPolicyTier, Long> {
+}
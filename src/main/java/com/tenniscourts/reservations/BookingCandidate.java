@@ -0,0 +1,25 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.schedules.Schedule;
+
+/**
+ * What booking a schedule for a guest has to check, loaded in one statement.
+ */
+public interface BookingCandidate {
+
+    /**
+     * The schedule, with its tennis court.
+     */
+    Schedule getSchedule();
+
+    /**
+     * The guest, or {@code null} when it does not exist.
+     */
+    Guest getGuest();
+
+    /**
+     * Id of the reservation occupying the schedule, or {@code null} when it is free.
+     */
+    Long getActiveReservationId();
+}
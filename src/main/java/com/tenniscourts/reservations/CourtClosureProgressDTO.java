@@ -0,0 +1,31 @@
+package com.tenniscourts.reservations;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One committed chunk of a court closure, with the running totals; the last line of a closure has {@code done} set.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class CourtClosureProgressDTO {
+
+    private int chunk;
+
+    private int cancelled;
+
+    private BigDecimal refunded;
+
+    private int totalCancelled;
+
+    private BigDecimal totalRefunded;
+
+    private boolean done;
+}
@@ -0,0 +1,16 @@
+package com.tenniscourts.reservations;
+
+/**
+ * How much of the paid value a court closure refunds.
+ */
+public enum CourtClosureRefundPolicy {
+    /**
+     * The whole value, for closures that are the club's doing such as rain or maintenance.
+     */
+    FULL,
+    /**
+     * The same share a guest cancelling at that time would get back.
+     */
+    STANDARD,
+    NONE
+}
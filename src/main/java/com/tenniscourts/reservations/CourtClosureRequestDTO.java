@@ -0,0 +1,31 @@
+package com.tenniscourts.reservations;
+
+import io.swagger.annotations.ApiModelProperty;
+import java.time.LocalDateTime;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Data
+@Builder
+public class CourtClosureRequestDTO {
+
+    @NotNull
+    @ApiModelProperty(required = true)
+    private Long tennisCourtId;
+
+    @NotNull
+    @ApiModelProperty(required = true)
+    private LocalDateTime startDate;
+
+    @NotNull
+    @ApiModelProperty(required = true)
+    private LocalDateTime endDate;
+
+    @ApiModelProperty(notes = "FULL when missing")
+    private CourtClosureRefundPolicy refundPolicy;
+}
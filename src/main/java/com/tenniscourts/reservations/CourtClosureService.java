@@ -0,0 +1,134 @@
+package com.tenniscourts.reservations;
+
+import static java.util.Objects.isNull;
+
+import com.tenniscourts.audit.AuditContext;
+import com.tenniscourts.audit.AuditContextHolder;
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import com.tenniscourts.refundpolicies.RefundPolicyEngine;
+import com.tenniscourts.schedules.ScheduleAvailabilityEvent;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@AllArgsConstructor
+public class CourtClosureService {
+
+    static final int CHUNK_SIZE = 100;
+
+    private final ReservationRepository reservationRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final TennisCourtRepository tennisCourtRepository;
+    private final ScheduleSlotLocks scheduleSlotLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final RefundPolicyEngine refundPolicyEngine;
+    private final Clock clock;
+
+    /**
+     * Validates a closure and returns the job cancelling every upcoming READY_TO_PLAY reservation of the court in the
+     * window. The job works in chunks of {@value #CHUNK_SIZE}, each cancelled with set-based statements in its own
+     * transaction under the slot locks of its schedules, and reports every committed chunk to the consumer it is given.
+     * Freed slots are not offered to their waitlists since the court is closed. The job may run on another thread, so
+     * it carries the caller's audit context with it.
+     */
+    public Consumer<Consumer<CourtClosureProgressDTO>> closeCourt(CourtClosureRequestDTO closureRequestDTO) {
+        Long tennisCourtId = closureRequestDTO.getTennisCourtId();
+        LocalDateTime startDate = closureRequestDTO.getStartDate();
+        LocalDateTime endDate = closureRequestDTO.getEndDate();
+        if (isNull(tennisCourtId) || isNull(startDate) || isNull(endDate) || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("Tennis court, start date and a later end date are required.");
+        }
+        if (!tennisCourtRepository.existsById(tennisCourtId)) {
+            throw new EntityNotFoundException(String.format("Tennis court not found for id %s", tennisCourtId));
+        }
+        CourtClosureRefundPolicy refundPolicy = isNull(closureRequestDTO.getRefundPolicy())
+                ? CourtClosureRefundPolicy.FULL : closureRequestDTO.getRefundPolicy();
+        AuditContext auditContext = AuditContextHolder.get();
+        return consumer -> {
+            AuditContext previous = AuditContextHolder.get();
+            AuditContextHolder.set(auditContext);
+            try {
+                close(tennisCourtId, startDate, endDate, refundCalculator(refundPolicy), consumer);
+            } finally {
+                if (isNull(previous)) {
+                    AuditContextHolder.clear();
+                } else {
+                    AuditContextHolder.set(previous);
+                }
+            }
+        };
+    }
+
+    private RefundCalculator refundCalculator(CourtClosureRefundPolicy refundPolicy) {
+        switch (refundPolicy) {
+            case FULL:
+                return (tennisCourtId, guestClass, startDateTime, value) -> value;
+            case NONE:
+                return (tennisCourtId, guestClass, startDateTime, value) -> BigDecimal.ZERO;
+            default:
+                return refundPolicyEngine::refundValue;
+        }
+    }
+
+    private void close(Long tennisCourtId, LocalDateTime startDate, LocalDateTime endDate,
+            RefundCalculator refundCalculator, Consumer<CourtClosureProgressDTO> consumer) {
+        CourtClosureProgressDTO progress = CourtClosureProgressDTO.builder()
+                .refunded(BigDecimal.ZERO)
+                .totalRefunded(BigDecimal.ZERO)
+                .build();
+        Long afterId = 0L;
+        while (true) {
+            LocalDateTime now = LocalDateTime.now(clock);
+            List<ReservationSlot> chunk = reservationRepository.findChunkOfTennisCourt(tennisCourtId,
+                    startDate.isAfter(now) ? startDate : now, endDate, ReservationStatus.READY_TO_PLAY, afterId,
+                    PageRequest.of(0, CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getId();
+
+            List<Reservation> cancelled = cancel(chunk, refundCalculator);
+            BigDecimal refunded = cancelled.stream().map(Reservation::getRefundValue)
+                    .reduce(BigDecimal.ZERO, BigDecimal::add);
+            progress.setChunk(progress.getChunk() + 1);
+            progress.setCancelled(cancelled.size());
+            progress.setRefunded(refunded);
+            progress.setTotalCancelled(progress.getTotalCancelled() + cancelled.size());
+            progress.setTotalRefunded(progress.getTotalRefunded().add(refunded));
+            consumer.accept(progress);
+        }
+        progress.setCancelled(0);
+        progress.setRefunded(BigDecimal.ZERO);
+        progress.setDone(true);
+        consumer.accept(progress);
+    }
+
+    private List<Reservation> cancel(List<ReservationSlot> chunk, RefundCalculator refundCalculator) {
+        Set<Long> scheduleIds = chunk.stream().map(ReservationSlot::getScheduleId).collect(Collectors.toSet());
+        List<Long> reservationIds = chunk.stream().map(ReservationSlot::getId).collect(Collectors.toList());
+        return scheduleSlotLocks.withLocks(scheduleIds, () -> transactionTemplate.execute(status -> {
+            List<Reservation> cancelled = reservationRepository.cancelAll(reservationIds, refundCalculator);
+            if (cancelled.isEmpty()) {
+                return Collections.<Reservation>emptyList();
+            }
+            scheduleRepository.findAllById(cancelled.stream().map(reservation -> reservation.getSchedule().getId())
+                    .collect(Collectors.toSet()))
+                    .forEach(schedule -> eventPublisher.publishEvent(ScheduleAvailabilityEvent.released(schedule)));
+            return cancelled;
+        }));
+    }
+}
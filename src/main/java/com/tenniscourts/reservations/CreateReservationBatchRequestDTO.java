@@ -0,0 +1,24 @@
+package com.tenniscourts.reservations;
+
+import io.swagger.annotations.ApiModelProperty;
+import java.util.List;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class CreateReservationBatchRequestDTO {
+
+    @NotNull
+    @ApiModelProperty(required = true)
+    private List<CreateReservationRequestDTO> reservations;
+
+    @Builder.Default
+    private ReservationBatchMode mode = ReservationBatchMode.ALL_OR_NOTHING;
+
+}
@@ -0,0 +1,152 @@
+package com.tenniscourts.reservations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Hashed timing wheel: a ring of buckets, each covering one tick. A timeout lands in the bucket its deadline tick
+ * hashes to and is skipped on earlier rotations, so scheduling, cancelling and expiring are O(1) per timeout no matter
+ * how many are pending. A timeout never fires before its deadline and at most one tick after it.
+ *
+ * <p>{@link #schedule} and {@link Timeout#cancel()} may be called from any thread; {@link #advance} must only be called
+ * by the single thread driving the wheel.
+ */
+class HashedTimingWheel<T> {
+
+    private final long tickNanos;
+
+    private final int mask;
+
+    private final Bucket<T>[] buckets;
+
+    private final Queue<Timeout<T>> scheduled = new ConcurrentLinkedQueue<>();
+
+    private final long startNanos;
+
+    private long tick;
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    HashedTimingWheel(long tickNanos, int ticksPerWheel, long startNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("Tick duration must be positive.");
+        }
+        if (ticksPerWheel <= 0 || Integer.bitCount(ticksPerWheel) != 1) {
+            throw new IllegalArgumentException("Ticks per wheel must be a power of two.");
+        }
+        this.tickNanos = tickNanos;
+        this.mask = ticksPerWheel - 1;
+        this.buckets = new Bucket[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        this.startNanos = startNanos;
+    }
+
+    Timeout<T> schedule(T task, long deadlineNanos) {
+        Timeout<T> timeout = new Timeout<>(task, deadlineNanos);
+        scheduled.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * Processes every tick that has fully elapsed by {@code nowNanos} and returns the tasks whose deadline passed.
+     */
+    List<T> advance(long nowNanos) {
+        List<T> expired = new ArrayList<>();
+        long lastTick = (nowNanos - startNanos) / tickNanos;
+        while (tick <= lastTick) {
+            transferScheduled();
+            buckets[(int) (tick & mask)].expire(tick, expired);
+            tick++;
+        }
+        return expired;
+    }
+
+    private void transferScheduled() {
+        for (Timeout<T> timeout = scheduled.poll(); timeout != null; timeout = scheduled.poll()) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            long deadlineTick = Math.max(tick, (timeout.deadlineNanos - startNanos + tickNanos - 1) / tickNanos);
+            timeout.deadlineTick = deadlineTick;
+            buckets[(int) (deadlineTick & mask)].add(timeout);
+        }
+    }
+
+    static final class Timeout<T> {
+
+        private final T task;
+
+        private final long deadlineNanos;
+
+        private long deadlineTick;
+
+        private volatile boolean cancelled;
+
+        private Timeout<T> next;
+
+        private Timeout<T> previous;
+
+        private Timeout(T task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        /**
+         * Marks the timeout as cancelled; it is unlinked the next time the wheel reaches its bucket.
+         */
+        void cancel() {
+            cancelled = true;
+        }
+    }
+
+    /**
+     * Doubly linked list of the timeouts hashed to one slot of the wheel.
+     */
+    private static final class Bucket<T> {
+
+        private Timeout<T> head;
+
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        void expire(long currentTick, List<T> expired) {
+            Timeout<T> timeout = head;
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.cancelled) {
+                    remove(timeout);
+                } else if (timeout.deadlineTick <= currentTick) {
+                    remove(timeout);
+                    expired.add(timeout.task);
+                }
+                timeout = next;
+            }
+        }
+
+        private void remove(Timeout<T> timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            } else {
+                tail = timeout.previous;
+            }
+            timeout.next = timeout.previous = null;
+        }
+    }
+}
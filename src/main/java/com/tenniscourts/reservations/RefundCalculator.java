@@ -0,0 +1,14 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.guests.GuestClass;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Refund of a cancelled reservation worth {@code value}, of a schedule of the court starting at {@code startDateTime}.
+ */
+@FunctionalInterface
+public interface RefundCalculator {
+
+    BigDecimal refundValue(Long tennisCourtId, GuestClass guestClass, LocalDateTime startDateTime, BigDecimal value);
+}
@@ -4,10 +4,19 @@ import com.tenniscourts.config.persistence.BaseEntity;
 import com.tenniscourts.guests.Guest;
 import com.tenniscourts.schedules.Schedule;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedSubgraph;
 import javax.persistence.OneToOne;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
 import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import javax.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -18,7 +27,13 @@ import lombok.Setter;
 
 
 @Entity
-@Table
+@NamedEntityGraph(name = Reservation.WITH_GUEST_AND_SCHEDULE, attributeNodes = {
+        @NamedAttributeNode("guest"),
+        @NamedAttributeNode(value = "schedule", subgraph = "schedule")},
+        subgraphs = @NamedSubgraph(name = "schedule", attributeNodes = @NamedAttributeNode("tennisCourt")))
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_reservation_active_schedule",
+        columnNames = "active_schedule_id"),
+        indexes = @Index(name = "idx_reservation_schedule_id", columnList = "schedule_id"))
 @Getter
 @Setter
 @AllArgsConstructor
@@ -27,6 +42,11 @@ import lombok.Setter;
 @Builder
 public class Reservation extends BaseEntity<Long> {
 
+    /**
+     * Fetch plan for everything {@link ReservationMapper} reads, so listing reservations takes a single joined select.
+     */
+    public static final String WITH_GUEST_AND_SCHEDULE = "Reservation.withGuestAndSchedule";
+
     @OneToOne
     @NotNull
     private Guest guest;
@@ -42,4 +62,31 @@ public class Reservation extends BaseEntity<Long> {
     private ReservationStatus reservationStatus = ReservationStatus.READY_TO_PLAY;
 
     private BigDecimal refundValue;
+
+    /**
+     * End of a tentative hold; only set while the reservation is or was HELD.
+     */
+    @Column
+    private LocalDateTime heldUntil;
+
+    /**
+     * Holds the schedule id while the reservation occupies its schedule (READY_TO_PLAY or HELD) and null otherwise, so
+     * the unique constraint allows at most one active reservation per schedule.
+     */
+    @Column(name = "active_schedule_id")
+    private Long activeScheduleId;
+
+    @Override
+    public String auditDetails() {
+        return String.format("reservationStatus=%s, scheduleId=%s, guestId=%s, value=%s, refundValue=%s, heldUntil=%s",
+                reservationStatus, schedule == null ? null : schedule.getId(), guest == null ? null : guest.getId(),
+                value, refundValue, heldUntil);
+    }
+
+    @PrePersist
+    @PreUpdate
+    void claimSchedule() {
+        activeScheduleId = reservationStatus != null && reservationStatus.occupiesSchedule() && schedule != null
+                ? schedule.getId() : null;
+    }
 }
@@ -0,0 +1,27 @@
+package com.tenniscourts.reservations;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ReservationBatchItemResultDTO {
+
+    private int index;
+
+    private Long guestId;
+
+    private Long scheduleId;
+
+    private Long reservationId;
+
+    private ReservationBatchItemStatus status;
+
+    private String message;
+}
@@ -0,0 +1,9 @@
+package com.tenniscourts.reservations;
+
+public enum ReservationBatchItemStatus {
+    BOOKED,
+    CONFLICT,
+    NOT_FOUND,
+    INVALID,
+    ABORTED
+}
@@ -0,0 +1,6 @@
+package com.tenniscourts.reservations;
+
+public enum ReservationBatchMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
@@ -0,0 +1,24 @@
+package com.tenniscourts.reservations;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ReservationBatchResultDTO {
+
+    private ReservationBatchMode mode;
+
+    private int booked;
+
+    private int failed;
+
+    private List<ReservationBatchItemResultDTO> results;
+}
@@ -0,0 +1,173 @@
+package com.tenniscourts.reservations;
+
+import static java.util.Objects.isNull;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.pricing.PricingEngine;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleAvailabilityEvent;
+import com.tenniscourts.schedules.ScheduleRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Service
+@AllArgsConstructor
+public class ReservationBatchService {
+
+    static final int MAX_BATCH_SIZE = 500;
+
+    static final int MAX_BEST_EFFORT_ATTEMPTS = 3;
+
+    private final ReservationRepository reservationRepository;
+    private final GuestRepository guestRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleSlotLocks scheduleSlotLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PricingEngine pricingEngine;
+    private final Clock clock;
+
+    /**
+     * Books every requested reservation using one query each for guests, schedules and existing bookings, and a single
+     * batched insert. In ALL_OR_NOTHING mode a single failing item prevents the whole batch from being written; in
+     * BEST_EFFORT mode the valid items are booked and the others are reported, including slots booked concurrently.
+     */
+    public ReservationBatchResultDTO bookReservations(CreateReservationBatchRequestDTO batchRequestDTO) {
+        List<CreateReservationRequestDTO> requests = batchRequestDTO.getReservations();
+        if (isNull(requests) || requests.isEmpty()) {
+            throw new IllegalArgumentException("At least one reservation is required.");
+        }
+        if (requests.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException(
+                    String.format("A batch can hold at most %s reservations.", MAX_BATCH_SIZE));
+        }
+        ReservationBatchMode mode = isNull(batchRequestDTO.getMode())
+                ? ReservationBatchMode.ALL_OR_NOTHING : batchRequestDTO.getMode();
+
+        List<ReservationBatchItemResultDTO> results = IntStream.range(0, requests.size())
+                .mapToObj(index -> ReservationBatchItemResultDTO.builder()
+                        .index(index)
+                        .guestId(requests.get(index).getGuestId())
+                        .scheduleId(requests.get(index).getScheduleId())
+                        .build())
+                .collect(Collectors.toList());
+        Set<Long> scheduleIds = requests.stream().map(CreateReservationRequestDTO::getScheduleId)
+                .filter(Objects::nonNull).collect(Collectors.toSet());
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                scheduleSlotLocks.withLocks(scheduleIds, () -> transactionTemplate.execute(status -> {
+                    book(requests, results, mode);
+                    return null;
+                }));
+                break;
+            } catch (DataIntegrityViolationException e) {
+                // The rolled back attempt wrote nothing; in BEST_EFFORT mode validating again turns the slots booked
+                // concurrently into per-item conflicts and books the rest.
+                boolean retry = ReservationBatchMode.BEST_EFFORT.equals(mode) && attempt < MAX_BEST_EFFORT_ATTEMPTS;
+                results.forEach(result -> {
+                    result.setReservationId(null);
+                    if (retry) {
+                        result.setStatus(null);
+                        result.setMessage(null);
+                    } else if (ReservationBatchItemStatus.BOOKED.equals(result.getStatus())) {
+                        reject(result, ReservationBatchItemStatus.ABORTED,
+                                "Batch rolled back because a schedule was booked concurrently.");
+                    }
+                });
+                if (!retry) {
+                    break;
+                }
+            }
+        }
+
+        int booked = (int) results.stream()
+                .filter(result -> ReservationBatchItemStatus.BOOKED.equals(result.getStatus())).count();
+        return ReservationBatchResultDTO.builder()
+                .mode(mode)
+                .booked(booked)
+                .failed(results.size() - booked)
+                .results(results)
+                .build();
+    }
+
+    private void book(List<CreateReservationRequestDTO> requests, List<ReservationBatchItemResultDTO> results,
+            ReservationBatchMode mode) {
+        Map<Long, Guest> guests = guestRepository.findAllById(requests.stream()
+                .map(CreateReservationRequestDTO::getGuestId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Guest::getId, Function.identity()));
+        Map<Long, Schedule> schedules = scheduleRepository.findAllById(requests.stream()
+                .map(CreateReservationRequestDTO::getScheduleId).filter(Objects::nonNull).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(Schedule::getId, Function.identity()));
+        Set<Long> bookedScheduleIds = schedules.isEmpty()
+                ? new HashSet<>() : new HashSet<>(reservationRepository.findActiveScheduleIds(schedules.keySet()));
+        LocalDateTime now = LocalDateTime.now(clock);
+
+        List<Reservation> reservations = new ArrayList<>();
+        List<ReservationBatchItemResultDTO> accepted = new ArrayList<>();
+        for (int index = 0; index < requests.size(); index++) {
+            CreateReservationRequestDTO request = requests.get(index);
+            ReservationBatchItemResultDTO result = results.get(index);
+            Guest guest = guests.get(request.getGuestId());
+            Schedule schedule = schedules.get(request.getScheduleId());
+
+            if (isNull(request.getGuestId()) || isNull(request.getScheduleId())) {
+                reject(result, ReservationBatchItemStatus.INVALID, "Guest id and schedule id are required.");
+            } else if (isNull(guest)) {
+                reject(result, ReservationBatchItemStatus.NOT_FOUND,
+                        String.format("Guest with id %s was not found", request.getGuestId()));
+            } else if (isNull(schedule)) {
+                reject(result, ReservationBatchItemStatus.NOT_FOUND,
+                        String.format("Schedule not found for id %s", request.getScheduleId()));
+            } else if (schedule.getStartDateTime().isBefore(now)) {
+                reject(result, ReservationBatchItemStatus.INVALID, "Can book only future dates.");
+            } else if (!bookedScheduleIds.add(schedule.getId())) {
+                reject(result, ReservationBatchItemStatus.CONFLICT,
+                        String.format("Schedule %s already has an active reservation", schedule.getId()));
+            } else {
+                reservations.add(Reservation.builder()
+                        .guest(guest)
+                        .schedule(schedule)
+                        .reservationStatus(ReservationStatus.READY_TO_PLAY)
+                        .value(pricingEngine.price(schedule.getTennisCourt().getId(), schedule.getStartDateTime()))
+                        .build());
+                accepted.add(result);
+            }
+        }
+
+        if (ReservationBatchMode.ALL_OR_NOTHING.equals(mode) && accepted.size() < requests.size()) {
+            accepted.forEach(result -> reject(result, ReservationBatchItemStatus.ABORTED,
+                    "Not booked because other reservations in the batch failed."));
+            return;
+        }
+
+        reservationRepository.insertAll(reservations);
+        for (int index = 0; index < reservations.size(); index++) {
+            Reservation reservation = reservations.get(index);
+            accepted.get(index).setStatus(ReservationBatchItemStatus.BOOKED);
+            accepted.get(index).setReservationId(reservation.getId());
+            eventPublisher.publishEvent(ScheduleAvailabilityEvent.booked(reservation.getSchedule()));
+        }
+    }
+
+    private static void reject(ReservationBatchItemResultDTO result, ReservationBatchItemStatus status,
+            String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+}
@@ -1,7 +1,11 @@
 package com.tenniscourts.reservations;
 
 import com.tenniscourts.config.BaseRestController;
+import com.tenniscourts.config.NdjsonWriter;
+import com.tenniscourts.config.pagination.CursorPageDTO;
+import com.tenniscourts.config.pagination.PageCursor;
 import io.swagger.annotations.ApiOperation;
+import java.time.Duration;
 import java.util.List;
 import lombok.AllArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -12,7 +16,9 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @AllArgsConstructor
@@ -21,6 +27,14 @@ public class ReservationController extends BaseRestController {
 
     private final ReservationService reservationService;
 
+    private final ReservationBatchService reservationBatchService;
+
+    private final WaitlistService waitlistService;
+
+    private final CourtClosureService courtClosureService;
+
+    private final NdjsonWriter ndjsonWriter;
+
     @PostMapping("/filter")
     @ApiOperation(value = "Get reservations for interval")
     public ResponseEntity<List<ReservationDTO>> getReservations(
@@ -28,6 +42,15 @@ public class ReservationController extends BaseRestController {
         return ResponseEntity.ok(reservationService.getReservations(reservationFilterDTO));
     }
 
+    @PostMapping("/filter/page")
+    @ApiOperation(value = "Get reservations for interval page by page")
+    public ResponseEntity<CursorPageDTO<ReservationDTO>> getReservationsPage(
+            @RequestBody ReservationFilterDTO reservationFilterDTO,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(reservationService.getReservationsPage(reservationFilterDTO, cursor, limit));
+    }
+
     @PostMapping
     @ApiOperation(value = "Book a reservation for a guest")
     public ResponseEntity<Void> bookReservation(@RequestBody CreateReservationRequestDTO createReservationRequestDTO) {
@@ -35,6 +58,58 @@ public class ReservationController extends BaseRestController {
                 locationByEntity(reservationService.bookReservation(createReservationRequestDTO).getId())).build();
     }
 
+    @PostMapping("/hold")
+    @ApiOperation(value = "Hold a schedule for a guest until the hold is confirmed, cancelled or expires")
+    public ResponseEntity<ReservationDTO> holdReservation(
+            @RequestBody CreateReservationRequestDTO createReservationRequestDTO,
+            @RequestParam(required = false) Long ttlSeconds) {
+        ReservationDTO held = reservationService.holdReservation(createReservationRequestDTO,
+                ttlSeconds == null ? null : Duration.ofSeconds(ttlSeconds));
+        return ResponseEntity.created(locationByEntity(held.getId())).body(held);
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    @ApiOperation(value = "Confirm a held reservation")
+    public ResponseEntity<ReservationDTO> confirmReservation(@PathVariable Long reservationId) {
+        return ResponseEntity.ok(reservationService.confirmReservation(reservationId));
+    }
+
+    @PostMapping("/waitlist")
+    @ApiOperation(value = "Queue a guest for a schedule that is already taken")
+    public ResponseEntity<WaitlistEntryDTO> joinWaitlist(
+            @RequestBody CreateReservationRequestDTO createReservationRequestDTO) {
+        WaitlistEntryDTO entry = waitlistService.joinWaitlist(createReservationRequestDTO);
+        return ResponseEntity.created(locationByEntity(entry.getId())).body(entry);
+    }
+
+    @GetMapping("/waitlist/{entryId}")
+    @ApiOperation(value = "Find a waitlist entry and its position")
+    public ResponseEntity<WaitlistEntryDTO> findWaitlistEntry(@PathVariable Long entryId) {
+        return ResponseEntity.ok(waitlistService.findWaitlistEntry(entryId));
+    }
+
+    @DeleteMapping("/waitlist/{entryId}")
+    @ApiOperation(value = "Leave a waitlist")
+    public ResponseEntity<WaitlistEntryDTO> withdrawWaitlistEntry(@PathVariable Long entryId) {
+        return ResponseEntity.ok(waitlistService.withdrawWaitlistEntry(entryId));
+    }
+
+    @PostMapping("/batch")
+    @ApiOperation(value = "Book several reservations in one request")
+    public ResponseEntity<ReservationBatchResultDTO> bookReservations(
+            @RequestBody CreateReservationBatchRequestDTO createReservationBatchRequestDTO) {
+        return ResponseEntity.ok(reservationBatchService.bookReservations(createReservationBatchRequestDTO));
+    }
+
+    @PostMapping(path = "/closures", produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Cancel and refund all upcoming reservations of a closed court, streaming the progress")
+    public ResponseEntity<StreamingResponseBody> closeCourt(
+            @RequestBody CourtClosureRequestDTO courtClosureRequestDTO) {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(ndjsonWriter.write(courtClosureService.closeCourt(courtClosureRequestDTO), 1));
+    }
+
     @GetMapping("/{reservationId}")
     @ApiOperation(value = "Find reservation by ID")
     public ResponseEntity<ReservationDTO> findReservation(@PathVariable Long reservationId) {
@@ -48,6 +123,22 @@ public class ReservationController extends BaseRestController {
         return ResponseEntity.ok(reservationService.getReservations());
     }
 
+    @GetMapping("/page")
+    @ApiOperation(value = "Get all reservations page by page")
+    public ResponseEntity<CursorPageDTO<ReservationDTO>> getAllReservationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(reservationService.getReservationsPage(cursor, limit));
+    }
+
+    @GetMapping(produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Stream all reservations as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamAllReservations() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(ndjsonWriter.write(reservationService::streamReservations));
+    }
+
     @DeleteMapping("/{reservationId}")
     @ApiOperation(value = "Cancel a reservation")
     public ResponseEntity<ReservationDTO> cancelReservation(@PathVariable Long reservationId) {
@@ -1,8 +1,10 @@
 package com.tenniscourts.reservations;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
 import com.tenniscourts.guests.GuestDTO;
 import com.tenniscourts.schedules.ScheduleDTO;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import javax.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -31,6 +33,9 @@ public class ReservationDTO {
 
     private BigDecimal value;
 
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
+    private LocalDateTime heldUntil;
+
     @NotNull
     private Long scheduledId;
 
@@ -0,0 +1,125 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.schedules.ScheduleAvailabilityEvent;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Expires HELD reservations when their TTL runs out. Every hold is one entry in a {@link HashedTimingWheel} advanced by
+ * a single ticker thread, so neither a timer per hold nor a periodic scan of the reservation table is needed. Pending
+ * holds are re-registered from the database on startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReservationHoldExpirer {
+
+    private final ReservationRepository reservationRepository;
+
+    private final ScheduleSlotLocks scheduleSlotLocks;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ReservationHoldProperties properties;
+
+    private final WaitlistService waitlistService;
+
+    private final Clock clock;
+
+    private final ConcurrentMap<Long, HashedTimingWheel.Timeout<Long>> timeouts = new ConcurrentHashMap<>();
+
+    private HashedTimingWheel<Long> wheel;
+
+    private ScheduledExecutorService ticker;
+
+    @PostConstruct
+    public void start() {
+        long tickNanos = properties.getTick().toNanos();
+        wheel = new HashedTimingWheel<>(tickNanos, properties.getTicksPerWheel(), System.nanoTime());
+        ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reservation-hold-expirer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        ticker.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerPendingHolds() {
+        reservationRepository.findByReservationStatus(ReservationStatus.HELD)
+                .forEach(reservation -> schedule(reservation.getId(), reservation.getHeldUntil()));
+    }
+
+    /**
+     * Arranges for the reservation to be expired at {@code heldUntil}, replacing any earlier deadline.
+     */
+    void schedule(Long reservationId, LocalDateTime heldUntil) {
+        long delayNanos = Math.max(0, Duration.between(LocalDateTime.now(clock), heldUntil).toNanos());
+        HashedTimingWheel.Timeout<Long> previous = timeouts.put(reservationId,
+                wheel.schedule(reservationId, System.nanoTime() + delayNanos));
+        if (previous != null) {
+            previous.cancel();
+        }
+    }
+
+    void cancel(Long reservationId) {
+        HashedTimingWheel.Timeout<Long> timeout = timeouts.remove(reservationId);
+        if (timeout != null) {
+            timeout.cancel();
+        }
+    }
+
+    private void tick() {
+        for (Long reservationId : wheel.advance(System.nanoTime())) {
+            timeouts.remove(reservationId);
+            try {
+                expire(reservationId);
+            } catch (RuntimeException e) {
+                log.error("Could not expire hold of reservation {}", reservationId, e);
+            }
+        }
+    }
+
+    private void expire(Long reservationId) {
+        reservationRepository.findById(reservationId).ifPresent(reservation ->
+                scheduleSlotLocks.withLock(reservation.getSchedule().getId(), () -> transactionTemplate.execute(
+                        status -> reservationRepository.findById(reservationId)
+                                .filter(held -> ReservationStatus.HELD.equals(held.getReservationStatus()))
+                                .map(this::expireOrReschedule)
+                                .orElse(null))));
+    }
+
+    private Reservation expireOrReschedule(Reservation reservation) {
+        if (reservation.getHeldUntil().isAfter(LocalDateTime.now(clock))) {
+            schedule(reservation.getId(), reservation.getHeldUntil());
+            return reservation;
+        }
+        reservation.setReservationStatus(ReservationStatus.EXPIRED);
+        Reservation expired = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.released(reservation.getSchedule()));
+        waitlistService.promoteNext(reservation.getSchedule());
+        return expired;
+    }
+}
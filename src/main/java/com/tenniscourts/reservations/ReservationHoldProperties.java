@@ -0,0 +1,22 @@
+package com.tenniscourts.reservations;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tenniscourts.reservations.hold")
+public class ReservationHoldProperties {
+
+    private Duration ttl = Duration.ofMinutes(10);
+
+    private Duration maxTtl = Duration.ofMinutes(30);
+
+    private Duration tick = Duration.ofSeconds(1);
+
+    private int ticksPerWheel = 512;
+}
@@ -1,18 +1,22 @@
 package com.tenniscourts.reservations;
 
+import com.tenniscourts.schedules.ScheduleMapper;
 import java.util.List;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
-@Mapper(componentModel = "spring")
+@Mapper(componentModel = "spring", uses = ScheduleMapper.class)
 public interface ReservationMapper {
 
+    @Mapping(target = "activeScheduleId", ignore = true)
     Reservation map(ReservationDTO source);
 
     ReservationDTO map(Reservation source);
 
     @Mapping(target = "guest.id", source = "guestId")
     @Mapping(target = "schedule.id", source = "scheduleId")
+    @Mapping(target = "activeScheduleId", ignore = true)
+    @Mapping(target = "heldUntil", ignore = true)
     Reservation map(CreateReservationRequestDTO source);
 
     List<ReservationDTO> map(List<Reservation> source);
@@ -1,13 +1,89 @@
 package com.tenniscourts.reservations;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ReservationRepository extends JpaRepository<Reservation, Long> {
+public interface ReservationRepository extends JpaRepository<Reservation, Long>, ReservationRepositoryCustom {
 
+    @Override
+    @EntityGraph(Reservation.WITH_GUEST_AND_SCHEDULE)
+    List<Reservation> findAll();
+
+    @EntityGraph(Reservation.WITH_GUEST_AND_SCHEDULE)
     List<Reservation> findBySchedule_Id(Long scheduleId);
 
+    @EntityGraph(Reservation.WITH_GUEST_AND_SCHEDULE)
+    List<Reservation> findByReservationStatus(ReservationStatus reservationStatus);
+
+    @EntityGraph(Reservation.WITH_GUEST_AND_SCHEDULE)
     List<Reservation> findBySchedule_StartDateTimeGreaterThanEqualAndSchedule_EndDateTimeLessThanEqual(
             LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+    @EntityGraph(Reservation.WITH_GUEST_AND_SCHEDULE)
+    @Query("select r from Reservation r join r.schedule s order by s.startDateTime, r.id")
+    List<Reservation> findPage(Pageable pageable);
+
+    @EntityGraph(Reservation.WITH_GUEST_AND_SCHEDULE)
+    @Query("select r from Reservation r join r.schedule s where s.startDateTime > :startDateTime "
+            + "or (s.startDateTime = :startDateTime and r.id > :id) order by s.startDateTime, r.id")
+    List<Reservation> findPageAfter(@Param("startDateTime") LocalDateTime startDateTime, @Param("id") Long id,
+            Pageable pageable);
+
+    @EntityGraph(Reservation.WITH_GUEST_AND_SCHEDULE)
+    @Query("select r from Reservation r join r.schedule s where s.startDateTime >= :startDate "
+            + "and s.endDateTime <= :endDate order by s.startDateTime, r.id")
+    List<Reservation> findPageInInterval(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @EntityGraph(Reservation.WITH_GUEST_AND_SCHEDULE)
+    @Query("select r from Reservation r join r.schedule s where s.startDateTime >= :startDate "
+            + "and s.endDateTime <= :endDate and (s.startDateTime > :startDateTime "
+            + "or (s.startDateTime = :startDateTime and r.id > :id)) order by s.startDateTime, r.id")
+    List<Reservation> findPageInIntervalAfter(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Next chunk, by id, of the reservations in a status on a court's schedules starting in {@code [startDate,
+     * endDate)}.
+     */
+    @Query("select r.id as id, s.id as scheduleId from Reservation r join r.schedule s "
+            + "where s.tennisCourt.id = :tennisCourtId and s.startDateTime >= :startDate "
+            + "and s.startDateTime < :endDate and r.reservationStatus = :status and r.id > :afterId order by r.id")
+    List<ReservationSlot> findChunkOfTennisCourt(@Param("tennisCourtId") Long tennisCourtId,
+            @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+            @Param("status") ReservationStatus status, @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select r.schedule.id from Reservation r where r.id = :id")
+    Optional<Long> findScheduleIdById(@Param("id") Long id);
+
+    /**
+     * Loads the schedule with its court, the guest and the reservation occupying the schedule in one select; the
+     * occupying reservation is found through the unique {@code active_schedule_id}. Empty when the schedule does not
+     * exist.
+     */
+    @Query("select s as schedule, g as guest, r.id as activeReservationId from Schedule s join fetch s.tennisCourt "
+            + "left join Guest g on g.id = :guestId left join Reservation r on r.activeScheduleId = s.id "
+            + "where s.id = :scheduleId")
+    Optional<BookingCandidate> findBookingCandidate(@Param("scheduleId") Long scheduleId,
+            @Param("guestId") Long guestId);
+
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select r from Reservation r join fetch r.guest join fetch r.schedule s join fetch s.tennisCourt "
+            + "order by r.id")
+    Stream<Reservation> streamAll();
+
+    @Query("select r.activeScheduleId from Reservation r where r.activeScheduleId in :scheduleIds")
+    List<Long> findActiveScheduleIds(@Param("scheduleIds") Collection<Long> scheduleIds);
 }
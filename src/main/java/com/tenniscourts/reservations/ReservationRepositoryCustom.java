@@ -0,0 +1,20 @@
+package com.tenniscourts.reservations;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ReservationRepositoryCustom {
+
+    /**
+     * Inserts new READY_TO_PLAY reservations with JDBC batching and assigns their generated ids.
+     */
+    void insertAll(List<Reservation> reservations);
+
+    /**
+     * Cancels those of the given reservations that are still READY_TO_PLAY with one select and one batched update,
+     * refunding each what {@code refundCalculator} gives.
+     *
+     * @return the cancelled reservations with their guest and schedule ids, value and refund
+     */
+    List<Reservation> cancelAll(Collection<Long> reservationIds, RefundCalculator refundCalculator);
+}
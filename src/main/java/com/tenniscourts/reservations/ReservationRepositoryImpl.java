@@ -0,0 +1,131 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.audit.AuditAction;
+import com.tenniscourts.audit.AuditJournal;
+import com.tenniscourts.audit.CustomAuditEntityListener;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestClass;
+import com.tenniscourts.schedules.Schedule;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@RequiredArgsConstructor
+public class ReservationRepositoryImpl implements ReservationRepositoryCustom {
+
+    private static final int BATCH_SIZE = 50;
+
+    private static final String INSERT_RESERVATION = "insert into reservation (guest_id, schedule_id, value, "
+            + "reservation_status, refund_value, active_schedule_id, user_create, user_update, date_create, "
+            + "date_update, ip_number_create, ip_number_update) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_ACTIVE_IDS = "select id, active_schedule_id from reservation "
+            + "where active_schedule_id in (:scheduleIds)";
+
+    private static final String SELECT_READY_TO_PLAY = "select r.id, r.guest_id, r.schedule_id, r.value, "
+            + "s.tennis_court_id, s.start_date_time, g.guest_class from reservation r "
+            + "join schedule s on s.id = r.schedule_id join guest g on g.id = r.guest_id "
+            + "where r.id in (:reservationIds) and r.reservation_status = :readyToPlay";
+
+    private static final String CANCEL = "update reservation set reservation_status = ?, refund_value = ?, value = ?, "
+            + "active_schedule_id = null, user_update = ?, date_update = ?, ip_number_update = ? where id = ?";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final AuditJournal auditJournal;
+
+    private final CustomAuditEntityListener auditEntityListener = new CustomAuditEntityListener();
+
+    @Override
+    public void insertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+        // JPA callbacks do not run for plain JDBC writes, so apply them by hand.
+        for (Reservation reservation : reservations) {
+            auditEntityListener.prePersist(reservation);
+            reservation.claimSchedule();
+        }
+
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_RESERVATION, reservations, BATCH_SIZE,
+                (statement, reservation) -> {
+                    statement.setLong(1, reservation.getGuest().getId());
+                    statement.setLong(2, reservation.getSchedule().getId());
+                    statement.setBigDecimal(3, reservation.getValue());
+                    statement.setInt(4, reservation.getReservationStatus().ordinal());
+                    statement.setBigDecimal(5, reservation.getRefundValue());
+                    statement.setObject(6, reservation.getActiveScheduleId());
+                    statement.setObject(7, reservation.getUserCreate());
+                    statement.setObject(8, reservation.getUserUpdate());
+                    statement.setTimestamp(9, Timestamp.valueOf(reservation.getDateCreate()));
+                    statement.setTimestamp(10, Timestamp.valueOf(reservation.getDateUpdate()));
+                    statement.setString(11, reservation.getIpNumberCreate());
+                    statement.setString(12, reservation.getIpNumberUpdate());
+                });
+
+        Map<Long, Long> reservationIdsBySchedule = new HashMap<>();
+        jdbcTemplate.query(SELECT_ACTIVE_IDS, new MapSqlParameterSource("scheduleIds",
+                        reservations.stream().map(Reservation::getActiveScheduleId).collect(Collectors.toList())),
+                resultSet -> {
+                    reservationIdsBySchedule.put(resultSet.getLong("active_schedule_id"), resultSet.getLong("id"));
+                });
+        reservations.forEach(reservation -> {
+            reservation.setId(reservationIdsBySchedule.get(reservation.getActiveScheduleId()));
+            auditJournal.record(reservation, AuditAction.CREATE);
+        });
+    }
+
+    @Override
+    public List<Reservation> cancelAll(Collection<Long> reservationIds, RefundCalculator refundCalculator) {
+        if (reservationIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Reservation audit = new Reservation();
+        auditEntityListener.preUpdate(audit);
+        List<Reservation> cancelled = jdbcTemplate.query(SELECT_READY_TO_PLAY, new MapSqlParameterSource()
+                .addValue("reservationIds", reservationIds)
+                .addValue("readyToPlay", ReservationStatus.READY_TO_PLAY.ordinal()), (resultSet, row) -> {
+                    String guestClass = resultSet.getString("guest_class");
+                    BigDecimal value = resultSet.getBigDecimal("value");
+                    BigDecimal refundValue = refundCalculator.refundValue(resultSet.getLong("tennis_court_id"),
+                            guestClass == null ? null : GuestClass.valueOf(guestClass),
+                            resultSet.getTimestamp("start_date_time").toLocalDateTime(), value);
+                    Guest guest = new Guest();
+                    guest.setId(resultSet.getLong("guest_id"));
+                    Schedule schedule = new Schedule();
+                    schedule.setId(resultSet.getLong("schedule_id"));
+                    Reservation reservation = Reservation.builder()
+                            .guest(guest)
+                            .schedule(schedule)
+                            .reservationStatus(ReservationStatus.CANCELLED)
+                            .value(value.subtract(refundValue))
+                            .refundValue(refundValue)
+                            .build();
+                    reservation.setId(resultSet.getLong("id"));
+                    reservation.setUserUpdate(audit.getUserUpdate());
+                    reservation.setDateUpdate(audit.getDateUpdate());
+                    reservation.setIpNumberUpdate(audit.getIpNumberUpdate());
+                    return reservation;
+                });
+
+        jdbcTemplate.getJdbcOperations().batchUpdate(CANCEL, cancelled, BATCH_SIZE, (statement, reservation) -> {
+            statement.setInt(1, ReservationStatus.CANCELLED.ordinal());
+            statement.setBigDecimal(2, reservation.getRefundValue());
+            statement.setBigDecimal(3, reservation.getValue());
+            statement.setObject(4, reservation.getUserUpdate());
+            statement.setTimestamp(5, Timestamp.valueOf(reservation.getDateUpdate()));
+            statement.setString(6, reservation.getIpNumberUpdate());
+            statement.setLong(7, reservation.getId());
+        });
+        cancelled.forEach(reservation -> auditJournal.record(reservation, AuditAction.UPDATE));
+        return cancelled;
+    }
+}
@@ -1,47 +1,151 @@
 package com.tenniscourts.reservations;
 
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.tenniscourts.config.pagination.CursorPageDTO;
+import com.tenniscourts.config.pagination.PageCursor;
 import com.tenniscourts.exceptions.AlreadyExistsEntityException;
 import com.tenniscourts.exceptions.EntityNotFoundException;
-import com.tenniscourts.guests.Guest;
-import com.tenniscourts.guests.GuestMapper;
-import com.tenniscourts.guests.GuestService;
+import com.tenniscourts.pricing.PricingEngine;
+import com.tenniscourts.refundpolicies.RefundPolicyEngine;
 import com.tenniscourts.schedules.Schedule;
-import com.tenniscourts.schedules.ScheduleMapper;
-import com.tenniscourts.schedules.ScheduleService;
+import com.tenniscourts.schedules.ScheduleAvailabilityEvent;
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @AllArgsConstructor
 public class ReservationService {
 
-    private static final BigDecimal RESERVATION_FEE = new BigDecimal(10);
     private final ReservationRepository reservationRepository;
     private final ReservationMapper reservationMapper;
-    private final GuestMapper guestMapper;
-    private final ScheduleMapper scheduleMapper;
-    private final GuestService guestService;
-    private final ScheduleService scheduleService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ScheduleSlotLocks scheduleSlotLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ReservationHoldExpirer reservationHoldExpirer;
+    private final ReservationHoldProperties reservationHoldProperties;
+    private final WaitlistService waitlistService;
+    private final RefundPolicyEngine refundPolicyEngine;
+    private final PricingEngine pricingEngine;
+    private final Clock clock;
 
     public ReservationDTO bookReservation(CreateReservationRequestDTO createReservationRequestDTO) {
-        Guest guest = guestMapper.map(guestService.findById(createReservationRequestDTO.getGuestId()));
-        Schedule schedule = scheduleMapper.map(
-                scheduleService.findSchedule(createReservationRequestDTO.getScheduleId()));
-        checkReservationExists(schedule);
-        checkValidInterval(schedule);
+        Long scheduleId = createReservationRequestDTO.getScheduleId();
+        try {
+            return scheduleSlotLocks.withLock(scheduleId,
+                    () -> transactionTemplate.execute(status -> book(createReservationRequestDTO)));
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistsEntityException(
+                    String.format("Schedule %s already has an active reservation", scheduleId));
+        }
+    }
 
-        return reservationMapper.map(reservationRepository.save(Reservation
+    /**
+     * Checks the guest, the schedule and its availability with one select and books it with one insert.
+     */
+    private ReservationDTO book(CreateReservationRequestDTO createReservationRequestDTO) {
+        return reservationMapper.map(book(findBookingCandidate(createReservationRequestDTO.getScheduleId(),
+                createReservationRequestDTO.getGuestId())));
+    }
+
+    private Reservation book(BookingCandidate candidate) {
+        Reservation reservation = reservationRepository.save(Reservation
                 .builder()
-                .guest(guest)
-                .schedule(schedule)
+                .guest(candidate.getGuest())
+                .schedule(candidate.getSchedule())
                 .reservationStatus(ReservationStatus.READY_TO_PLAY)
-                .value(RESERVATION_FEE)
-                .build()));
+                .value(price(candidate.getSchedule()))
+                .build());
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.booked(candidate.getSchedule()));
+        return reservation;
+    }
+
+    private BigDecimal price(Schedule schedule) {
+        return pricingEngine.price(schedule.getTennisCourt().getId(), schedule.getStartDateTime());
+    }
+
+    /**
+     * Tentatively takes a schedule for a guest, e.g. while they pay. The slot is unavailable to others until the hold
+     * is confirmed, released or expires after {@code ttl} (the configured default when null).
+     */
+    public ReservationDTO holdReservation(CreateReservationRequestDTO createReservationRequestDTO, Duration ttl) {
+        Duration holdTtl = isNull(ttl) ? reservationHoldProperties.getTtl() : ttl;
+        if (holdTtl.isNegative() || holdTtl.isZero() || holdTtl.compareTo(reservationHoldProperties.getMaxTtl()) > 0) {
+            throw new IllegalArgumentException(String.format("Hold TTL must be positive and at most %s seconds.",
+                    reservationHoldProperties.getMaxTtl().getSeconds()));
+        }
+        Long scheduleId = createReservationRequestDTO.getScheduleId();
+        ReservationDTO held;
+        try {
+            held = scheduleSlotLocks.withLock(scheduleId,
+                    () -> transactionTemplate.execute(status -> hold(createReservationRequestDTO, holdTtl)));
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistsEntityException(
+                    String.format("Schedule %s already has an active reservation", scheduleId));
+        }
+        reservationHoldExpirer.schedule(held.getId(), held.getHeldUntil());
+        return held;
+    }
+
+    private ReservationDTO hold(CreateReservationRequestDTO createReservationRequestDTO, Duration ttl) {
+        BookingCandidate candidate = findBookingCandidate(createReservationRequestDTO.getScheduleId(),
+                createReservationRequestDTO.getGuestId());
+        Schedule schedule = candidate.getSchedule();
+
+        Reservation reservation = reservationRepository.save(Reservation
+                .builder()
+                .guest(candidate.getGuest())
+                .schedule(schedule)
+                .reservationStatus(ReservationStatus.HELD)
+                .value(BigDecimal.ZERO)
+                .heldUntil(LocalDateTime.now(clock).plus(ttl))
+                .build());
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.booked(schedule));
+        return reservationMapper.map(reservation);
+    }
+
+    /**
+     * Turns a live hold into a READY_TO_PLAY reservation and charges the slot's current price.
+     */
+    public ReservationDTO confirmReservation(Long reservationId) {
+        Long scheduleId = reservationRepository.findById(reservationId)
+                .map(reservation -> reservation.getSchedule().getId())
+                .orElseThrow(() -> new EntityNotFoundException("Reservation not found."));
+        ReservationDTO confirmed = scheduleSlotLocks.withLock(scheduleId,
+                () -> transactionTemplate.execute(status -> confirm(reservationId)));
+        reservationHoldExpirer.cancel(reservationId);
+        return confirmed;
+    }
+
+    private ReservationDTO confirm(Long reservationId) {
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new EntityNotFoundException("Reservation not found."));
+        if (!ReservationStatus.HELD.equals(reservation.getReservationStatus())
+                || !reservation.getHeldUntil().isAfter(LocalDateTime.now(clock))) {
+            throw new IllegalArgumentException("Only a hold that has not expired can be confirmed.");
+        }
+        reservation.setReservationStatus(ReservationStatus.READY_TO_PLAY);
+        reservation.setValue(price(reservation.getSchedule()));
+        Reservation confirmed = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.statusChanged(reservation.getSchedule()));
+        return reservationMapper.map(confirmed);
     }
 
     public List<ReservationDTO> getReservations(ReservationFilterDTO filterDTO) {
@@ -55,19 +159,77 @@ public class ReservationService {
                 reservationRepository.findAll());
     }
 
+    public CursorPageDTO<ReservationDTO> getReservationsPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        PageCursor.checkLimit(limit);
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<Reservation> reservations = isNull(after)
+                ? reservationRepository.findPage(pageRequest)
+                : reservationRepository.findPageAfter(after.getStartDateTime(), after.getId(), pageRequest);
+        return toPage(reservations, limit);
+    }
+
+    public CursorPageDTO<ReservationDTO> getReservationsPage(ReservationFilterDTO filterDTO, String cursor,
+            int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        PageCursor.checkLimit(limit);
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        List<Reservation> reservations = isNull(after)
+                ? reservationRepository.findPageInInterval(filterDTO.getStartDate(), filterDTO.getEndDate(),
+                pageRequest)
+                : reservationRepository.findPageInIntervalAfter(filterDTO.getStartDate(), filterDTO.getEndDate(),
+                        after.getStartDateTime(), after.getId(), pageRequest);
+        return toPage(reservations, limit);
+    }
+
+    private CursorPageDTO<ReservationDTO> toPage(List<Reservation> reservations, int limit) {
+        return CursorPageDTO.of(reservations, limit,
+                reservation -> new PageCursor(reservation.getSchedule().getStartDateTime(), reservation.getId()),
+                reservationMapper::map);
+    }
+
+    /**
+     * Maps reservations one by one from a database cursor, clearing the persistence context after each row so memory
+     * use does not depend on the number of reservations.
+     */
+    @Transactional(readOnly = true)
+    public void streamReservations(Consumer<ReservationDTO> consumer) {
+        try (Stream<Reservation> reservations = reservationRepository.streamAll()) {
+            reservations.forEach(reservation -> {
+                consumer.accept(reservationMapper.map(reservation));
+                entityManager.clear();
+            });
+        }
+    }
+
     public ReservationDTO findReservation(Long reservationId) {
         return reservationRepository.findById(reservationId).map(reservationMapper::map).orElseThrow(() -> {
             throw new EntityNotFoundException("Reservation not found.");
         });
     }
 
+    /**
+     * Cancels the reservation and, in the same transaction and under the schedule's slot lock, hands the freed slot to
+     * the first guest on its waitlist.
+     */
     public ReservationDTO cancelReservation(Long reservationId) {
-        return reservationMapper.map(this.cancel(reservationId));
+        Long scheduleId = reservationRepository.findById(reservationId)
+                .map(reservation -> reservation.getSchedule().getId())
+                .orElseThrow(() -> new EntityNotFoundException("Reservation not found."));
+        return scheduleSlotLocks.withLock(scheduleId, () -> transactionTemplate.execute(status -> {
+            Reservation cancelled = this.cancel(reservationId);
+            waitlistService.promoteNext(cancelled.getSchedule());
+            return reservationMapper.map(cancelled);
+        }));
     }
 
     private Reservation cancel(Long reservationId) {
         return reservationRepository.findById(reservationId).map(reservation -> {
 
+            if (ReservationStatus.HELD.equals(reservation.getReservationStatus())) {
+                reservationHoldExpirer.cancel(reservationId);
+                return this.updateReservation(reservation, BigDecimal.ZERO);
+            }
             this.validateCancellation(reservation);
 
             BigDecimal refundValue = getRefundValue(reservation);
@@ -83,7 +245,9 @@ public class ReservationService {
         reservation.setValue(reservation.getValue().subtract(refundValue));
         reservation.setRefundValue(refundValue);
 
-        return reservationRepository.save(reservation);
+        Reservation cancelledReservation = reservationRepository.save(reservation);
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.released(reservation.getSchedule()));
+        return cancelledReservation;
     }
 
     private void validateCancellation(Reservation reservation) {
@@ -94,40 +258,44 @@ public class ReservationService {
     }
 
     public BigDecimal getRefundValue(Reservation reservation) {
-        long hours = ChronoUnit.HOURS.between(LocalDateTime.now(), reservation.getSchedule().getStartDateTime());
-
-        if (hours >= 24) {
-            return reservation.getValue();
-        } else if (hours >= 12) {
-            return reservation.getValue().multiply(BigDecimal.valueOf(0.75));
-        } else if (hours >= 2) {
-            return reservation.getValue().multiply(BigDecimal.valueOf(0.5));
-        } else if (hours >= 0) {
-            return reservation.getValue().multiply(BigDecimal.valueOf(0.25));
-        }
-        return BigDecimal.ZERO;
+        Schedule schedule = reservation.getSchedule();
+        return refundPolicyEngine.refundValue(
+                isNull(schedule.getTennisCourt()) ? null : schedule.getTennisCourt().getId(),
+                isNull(reservation.getGuest()) ? null : reservation.getGuest().getGuestClass(),
+                schedule.getStartDateTime(), reservation.getValue());
     }
 
+    /**
+     * Moves a reservation to another schedule in one transaction holding the slot locks of both schedules, so either
+     * the old reservation is RESCHEDULED and the new one booked, or nothing changes. The freed slot goes to the head
+     * of its waitlist.
+     */
     public ReservationDTO rescheduleReservation(Long previousReservationId, Long scheduleId) {
-        Reservation previousReservation = reservationMapper.map(findReservation(previousReservationId));
-        if (scheduleId.equals(previousReservation.getSchedule().getId())) {
+        Long previousScheduleId = reservationRepository.findScheduleIdById(previousReservationId)
+                .orElseThrow(() -> new EntityNotFoundException("Reservation not found."));
+        if (scheduleId.equals(previousScheduleId)) {
             throw new IllegalArgumentException("Cannot reschedule to the same slot.");
         }
-
-        reschedule(previousReservation);
-        ReservationDTO newReservation = bookReservation(
-                CreateReservationRequestDTO.builder()
-                        .guestId(previousReservation.getGuest().getId())
-                        .scheduleId(scheduleId)
-                        .build());
-        newReservation.setPreviousReservation(reservationMapper.map(previousReservation));
-        return newReservation;
+        try {
+            return scheduleSlotLocks.withLocks(Arrays.asList(previousScheduleId, scheduleId),
+                    () -> transactionTemplate.execute(status -> reschedule(previousReservationId, scheduleId)));
+        } catch (DataIntegrityViolationException e) {
+            throw new AlreadyExistsEntityException(
+                    String.format("Schedule %s already has an active reservation", scheduleId));
+        }
     }
 
-    private void reschedule(Reservation previousReservation) {
+    private ReservationDTO reschedule(Long previousReservationId, Long scheduleId) {
+        Reservation previousReservation = reservationRepository.findById(previousReservationId)
+                .orElseThrow(() -> new EntityNotFoundException("Reservation not found."));
         validateCancellation(previousReservation);
-        BigDecimal refundValue = getRefundValue(previousReservation);
-        update(previousReservation, refundValue);
+        BookingCandidate candidate = findBookingCandidate(scheduleId, previousReservation.getGuest().getId());
+
+        update(previousReservation, getRefundValue(previousReservation));
+        waitlistService.promoteNext(previousReservation.getSchedule());
+        ReservationDTO newReservation = reservationMapper.map(book(candidate));
+        newReservation.setPreviousReservation(reservationMapper.map(previousReservation));
+        return newReservation;
     }
 
     private void update(Reservation reservation, BigDecimal refundValue) {
@@ -136,12 +304,24 @@ public class ReservationService {
         reservation.setRefundValue(refundValue);
 
         reservationRepository.save(reservation);
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.released(reservation.getSchedule()));
+    }
+
+    private BookingCandidate findBookingCandidate(Long scheduleId, Long guestId) {
+        BookingCandidate candidate = reservationRepository.findBookingCandidate(scheduleId, guestId)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Schedule not found for id %s", scheduleId)));
+        if (isNull(candidate.getGuest())) {
+            throw new EntityNotFoundException(String.format("Guest with id %s was not found", guestId));
+        }
+        checkReservationExists(candidate);
+        checkValidInterval(candidate.getSchedule());
+        return candidate;
     }
 
-    private void checkReservationExists(Schedule schedule) {
-        List<Reservation> reservations = reservationRepository.findBySchedule_Id(schedule.getId());
-        if (reservations.stream()
-                .anyMatch(reservation -> ReservationStatus.READY_TO_PLAY.equals(reservation.getReservationStatus()))) {
+    private void checkReservationExists(BookingCandidate candidate) {
+        if (nonNull(candidate.getActiveReservationId())) {
+            Schedule schedule = candidate.getSchedule();
             throw new AlreadyExistsEntityException(String.format("Reservation for tennis court %s exists for time: %s",
                     schedule.getTennisCourt().getName(),
                     schedule.getStartDateTime().format(DateTimeFormatter.ofPattern("yyyy-MM-dd hh:mm:ss"))));
@@ -149,7 +329,7 @@ public class ReservationService {
     }
 
     private void checkValidInterval(Schedule schedule) {
-        if (schedule.getStartDateTime().isBefore(LocalDateTime.now())) {
+        if (schedule.getStartDateTime().isBefore(LocalDateTime.now(clock))) {
             throw new IllegalArgumentException("Can cancel/reschedule only future dates.");
         }
     }
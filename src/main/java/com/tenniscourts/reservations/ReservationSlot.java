@@ -0,0 +1,11 @@
+package com.tenniscourts.reservations;
+
+/**
+ * A reservation id with the id of the schedule it is for.
+ */
+public interface ReservationSlot {
+
+    Long getId();
+
+    Long getScheduleId();
+}
@@ -1,7 +1,22 @@
 package com.tenniscourts.reservations;
 
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public enum ReservationStatus {
     READY_TO_PLAY,
     CANCELLED,
-    RESCHEDULED
+    RESCHEDULED,
+    HELD,
+    EXPIRED;
+
+    /**
+     * Statuses in which a reservation occupies its schedule, so nobody else can book or hold it.
+     */
+    public static final Set<ReservationStatus> OCCUPYING = Collections.unmodifiableSet(EnumSet.of(READY_TO_PLAY, HELD));
+
+    public boolean occupiesSchedule() {
+        return OCCUPYING.contains(this);
+    }
 }
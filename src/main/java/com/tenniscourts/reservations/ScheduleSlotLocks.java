@@ -0,0 +1,62 @@
+package com.tenniscourts.reservations;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+
+/**
+ * Striped in-process locks keyed by schedule id. Bookings on different slots almost always take different stripes
+ * and run in parallel, while bookings on the same slot queue up behind each other so that every loser sees the
+ * winner's committed reservation. The unique active-schedule constraint on {@link Reservation} remains the last line
+ * of defence across application instances.
+ */
+@Component
+public class ScheduleSlotLocks {
+
+    private static final int STRIPES = 256;
+
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+
+    public ScheduleSlotLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withLock(Long scheduleId, Supplier<T> action) {
+        ReentrantLock lock = stripeFor(scheduleId);
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Runs {@code action} holding the stripes of all given schedules. Stripes are always taken in ascending order, so
+     * callers locking overlapping sets of schedules cannot deadlock each other.
+     */
+    public <T> T withLocks(Collection<Long> scheduleIds, Supplier<T> action) {
+        SortedSet<Integer> stripeIndexes = new TreeSet<>();
+        scheduleIds.forEach(scheduleId -> stripeIndexes.add(stripeIndex(scheduleId)));
+        stripeIndexes.forEach(stripeIndex -> stripes[stripeIndex].lock());
+        try {
+            return action.get();
+        } finally {
+            stripeIndexes.forEach(stripeIndex -> stripes[stripeIndex].unlock());
+        }
+    }
+
+    private ReentrantLock stripeFor(Long scheduleId) {
+        return stripes[stripeIndex(scheduleId)];
+    }
+
+    private static int stripeIndex(Long scheduleId) {
+        return Objects.hashCode(scheduleId) & (STRIPES - 1);
+    }
+}
@@ -0,0 +1,58 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.config.persistence.BaseEntity;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.schedules.Schedule;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Index;
+import javax.persistence.ManyToOne;
+import javax.persistence.Table;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A guest queued for a schedule that is already taken. Entries of one schedule are served in id order.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_waitlist_entry_schedule_status", columnList = "schedule_id, status, id"))
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class WaitlistEntry extends BaseEntity<Long> {
+
+    @ManyToOne
+    @NotNull
+    private Guest guest;
+
+    @ManyToOne
+    @NotNull
+    private Schedule schedule;
+
+    @Column
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private WaitlistEntryStatus status;
+
+    /**
+     * The reservation created when the entry was promoted.
+     */
+    @Column
+    private Long reservationId;
+
+    @Override
+    public String auditDetails() {
+        return String.format("status=%s, scheduleId=%s, guestId=%s, reservationId=%s", status,
+                schedule == null ? null : schedule.getId(), guest == null ? null : guest.getId(), reservationId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.tenniscourts.reservations;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+@Setter
+public class WaitlistEntryDTO {
+
+    private Long id;
+
+    private Long guestId;
+
+    private Long scheduleId;
+
+    private WaitlistEntryStatus status;
+
+    /**
+     * 1-based place in the queue while WAITING.
+     */
+    private Integer position;
+
+    private Long reservationId;
+}
@@ -0,0 +1,22 @@
+package com.tenniscourts.reservations;
+
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    boolean existsBySchedule_IdAndGuest_IdAndStatus(Long scheduleId, Long guestId, WaitlistEntryStatus status);
+
+    @Query("select e.id as id, e.schedule.id as scheduleId from WaitlistEntry e where e.status = :status "
+            + "order by e.id")
+    List<WaitlistSlot> findSlotsByStatus(@Param("status") WaitlistEntryStatus status);
+
+    interface WaitlistSlot {
+
+        Long getId();
+
+        Long getScheduleId();
+    }
+}
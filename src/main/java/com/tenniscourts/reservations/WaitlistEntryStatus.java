@@ -0,0 +1,7 @@
+package com.tenniscourts.reservations;
+
+public enum WaitlistEntryStatus {
+    WAITING,
+    PROMOTED,
+    WITHDRAWN
+}
@@ -0,0 +1,192 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.exceptions.AlreadyExistsEntityException;
+import com.tenniscourts.exceptions.EntityNotFoundException;
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.pricing.PricingEngine;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleAvailabilityEvent;
+import com.tenniscourts.schedules.ScheduleRepository;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Per-schedule FIFO waitlists. The database holds the entries; an in-memory queue of waiting entry ids per schedule
+ * tells which one is next without querying. Queues are only changed while holding the schedule's slot lock and only
+ * after the transaction that changed the entries commits, so they never run ahead of the database.
+ */
+@Service
+@RequiredArgsConstructor
+public class WaitlistService {
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final ReservationRepository reservationRepository;
+    private final GuestRepository guestRepository;
+    private final ScheduleRepository scheduleRepository;
+    private final ScheduleSlotLocks scheduleSlotLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PricingEngine pricingEngine;
+    private final Clock clock;
+
+    private final ConcurrentMap<Long, Deque<Long>> queues = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        queues.clear();
+        waitlistEntryRepository.findSlotsByStatus(WaitlistEntryStatus.WAITING)
+                .forEach(slot -> queue(slot.getScheduleId()).addLast(slot.getId()));
+    }
+
+    public WaitlistEntryDTO joinWaitlist(CreateReservationRequestDTO createReservationRequestDTO) {
+        Long scheduleId = createReservationRequestDTO.getScheduleId();
+        return scheduleSlotLocks.withLock(scheduleId,
+                () -> transactionTemplate.execute(status -> join(createReservationRequestDTO)));
+    }
+
+    private WaitlistEntryDTO join(CreateReservationRequestDTO createReservationRequestDTO) {
+        Guest guest = guestRepository.findById(createReservationRequestDTO.getGuestId())
+                .orElseThrow(() -> new EntityNotFoundException("Guest not found."));
+        Schedule schedule = scheduleRepository.findById(createReservationRequestDTO.getScheduleId())
+                .orElseThrow(() -> new EntityNotFoundException("Schedule not found."));
+        if (schedule.getStartDateTime().isBefore(LocalDateTime.now(clock))) {
+            throw new IllegalArgumentException("Can join the waitlist only for future dates.");
+        }
+        if (reservationRepository.findActiveScheduleIds(Collections.singleton(schedule.getId())).isEmpty()) {
+            throw new IllegalArgumentException("Schedule is available, book it instead.");
+        }
+        if (waitlistEntryRepository.existsBySchedule_IdAndGuest_IdAndStatus(schedule.getId(), guest.getId(),
+                WaitlistEntryStatus.WAITING)) {
+            throw new AlreadyExistsEntityException(
+                    String.format("Guest %s is already waiting for schedule %s", guest.getId(), schedule.getId()));
+        }
+
+        WaitlistEntry entry = waitlistEntryRepository.save(WaitlistEntry.builder()
+                .guest(guest)
+                .schedule(schedule)
+                .status(WaitlistEntryStatus.WAITING)
+                .build());
+        afterCommit(() -> queue(schedule.getId()).addLast(entry.getId()));
+        return toDTO(entry, queue(schedule.getId()).size() + 1);
+    }
+
+    public WaitlistEntryDTO findWaitlistEntry(Long entryId) {
+        WaitlistEntry entry = findEntry(entryId);
+        return toDTO(entry, position(entry));
+    }
+
+    public WaitlistEntryDTO withdrawWaitlistEntry(Long entryId) {
+        Long scheduleId = findEntry(entryId).getSchedule().getId();
+        return scheduleSlotLocks.withLock(scheduleId, () -> transactionTemplate.execute(status -> {
+            WaitlistEntry entry = findEntry(entryId);
+            if (!WaitlistEntryStatus.WAITING.equals(entry.getStatus())) {
+                throw new IllegalArgumentException("Only waiting entries can be withdrawn.");
+            }
+            entry.setStatus(WaitlistEntryStatus.WITHDRAWN);
+            afterCommit(() -> queue(scheduleId).remove(entryId));
+            return toDTO(waitlistEntryRepository.save(entry), null);
+        }));
+    }
+
+    /**
+     * Books the freed schedule for the guest at the head of its waitlist. Must be called inside the transaction that
+     * freed the slot and while holding the schedule's slot lock, so the slot is handed over without ever showing as
+     * available.
+     *
+     * @return the promoted guest's reservation, if anyone was waiting
+     */
+    Optional<Reservation> promoteNext(Schedule schedule) {
+        Deque<Long> queue = queues.get(schedule.getId());
+        if (queue == null) {
+            return Optional.empty();
+        }
+        WaitlistEntry entry = null;
+        for (Iterator<Long> entryIds = queue.iterator(); entry == null && entryIds.hasNext(); ) {
+            Long entryId = entryIds.next();
+            afterCommit(() -> queue.remove(entryId));
+            entry = waitlistEntryRepository.findById(entryId)
+                    .filter(candidate -> WaitlistEntryStatus.WAITING.equals(candidate.getStatus()))
+                    .orElse(null);
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+
+        // The freed reservation must give up the active-schedule column before the new one claims it.
+        reservationRepository.flush();
+        Reservation reservation = reservationRepository.save(Reservation.builder()
+                .guest(entry.getGuest())
+                .schedule(entry.getSchedule())
+                .reservationStatus(ReservationStatus.READY_TO_PLAY)
+                .value(pricingEngine.price(entry.getSchedule().getTennisCourt().getId(),
+                        entry.getSchedule().getStartDateTime()))
+                .build());
+        entry.setStatus(WaitlistEntryStatus.PROMOTED);
+        entry.setReservationId(reservation.getId());
+        waitlistEntryRepository.save(entry);
+        eventPublisher.publishEvent(ScheduleAvailabilityEvent.booked(entry.getSchedule()));
+        return Optional.of(reservation);
+    }
+
+    private WaitlistEntry findEntry(Long entryId) {
+        return waitlistEntryRepository.findById(entryId)
+                .orElseThrow(() -> new EntityNotFoundException("Waitlist entry not found."));
+    }
+
+    private Integer position(WaitlistEntry entry) {
+        if (!WaitlistEntryStatus.WAITING.equals(entry.getStatus())) {
+            return null;
+        }
+        Deque<Long> queue = queues.get(entry.getSchedule().getId());
+        if (queue == null) {
+            return null;
+        }
+        int position = 1;
+        for (Iterator<Long> ids = queue.iterator(); ids.hasNext(); position++) {
+            if (entry.getId().equals(ids.next())) {
+                return position;
+            }
+        }
+        return null;
+    }
+
+    private Deque<Long> queue(Long scheduleId) {
+        return queues.computeIfAbsent(scheduleId, id -> new ConcurrentLinkedDeque<>());
+    }
+
+    private static WaitlistEntryDTO toDTO(WaitlistEntry entry, Integer position) {
+        return WaitlistEntryDTO.builder()
+                .id(entry.getId())
+                .guestId(entry.getGuest().getId())
+                .scheduleId(entry.getSchedule().getId())
+                .status(entry.getStatus())
+                .position(position)
+                .reservationId(entry.getReservationId())
+                .build();
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
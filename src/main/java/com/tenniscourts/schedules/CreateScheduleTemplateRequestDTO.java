@@ -0,0 +1,54 @@
+package com.tenniscourts.schedules;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.annotations.ApiModelProperty;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+import javax.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Recurring slots of one tennis court, e.g. every weekday from 08:00 to 22:00 in one hour slots until a given date.
+ */
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Data
+public class CreateScheduleTemplateRequestDTO {
+
+    @NotNull
+    @ApiModelProperty(required = true)
+    private Long tennisCourtId;
+
+    @NotNull
+    @ApiModelProperty(required = true)
+    private Set<DayOfWeek> daysOfWeek;
+
+    @JsonFormat(pattern = "HH:mm")
+    @NotNull
+    @ApiModelProperty(required = true, value = "Start of the first slot of each day")
+    private LocalTime firstSlotStart;
+
+    @JsonFormat(pattern = "HH:mm")
+    @NotNull
+    @ApiModelProperty(required = true, value = "Time by which the last slot of each day must end")
+    private LocalTime lastSlotEnd;
+
+    @Builder.Default
+    private Integer slotMinutes = 60;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @ApiModelProperty(value = "First day to generate slots for, today when missing")
+    private LocalDate startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    @NotNull
+    @ApiModelProperty(required = true, value = "Last day to generate slots for")
+    private LocalDate endDate;
+
+}
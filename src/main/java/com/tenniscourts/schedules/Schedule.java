@@ -8,10 +8,14 @@ import java.util.ArrayList;
 import java.util.List;
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
 import javax.validation.constraints.NotNull;
+import org.hibernate.annotations.BatchSize;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
@@ -20,7 +24,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
-@Table
+@NamedEntityGraph(name = Schedule.WITH_TENNIS_COURT, attributeNodes = @NamedAttributeNode("tennisCourt"))
+@Table(indexes = {
+        @Index(name = "idx_schedule_start_date_time", columnList = "startDateTime, id"),
+        @Index(name = "idx_schedule_tennis_court_start_date_time", columnList = "tennis_court_id, startDateTime, id")})
 @Getter
 @Setter
 @Builder
@@ -29,6 +36,8 @@ import lombok.Setter;
 @EqualsAndHashCode(callSuper = true, exclude = "reservations")
 public class Schedule extends BaseEntity<Long> {
 
+    public static final String WITH_TENNIS_COURT = "Schedule.withTennisCourt";
+
     @ManyToOne
     @NotNull
     private TennisCourt tennisCourt;
@@ -41,9 +50,20 @@ public class Schedule extends BaseEntity<Long> {
     @NotNull
     private LocalDateTime endDateTime;
 
-    @OneToMany
+    /**
+     * Mapped by {@code reservation.schedule_id}; when the reservations of several loaded schedules are accessed, they
+     * are initialised together with one select per batch rather than one per schedule.
+     */
+    @OneToMany(mappedBy = "schedule")
+    @BatchSize(size = 100)
     private List<Reservation> reservations;
 
+    @Override
+    public String auditDetails() {
+        return String.format("tennisCourtId=%s, startDateTime=%s, endDateTime=%s",
+                tennisCourt == null ? null : tennisCourt.getId(), startDateTime, endDateTime);
+    }
+
     public void addReservation(Reservation reservation) {
         if (this.reservations == null) {
             this.reservations = new ArrayList<>();
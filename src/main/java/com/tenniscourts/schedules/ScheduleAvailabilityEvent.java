@@ -0,0 +1,47 @@
+package com.tenniscourts.schedules;
+
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever a schedule slot becomes booked or free again, and when the reservation taking a slot changes
+ * status without freeing it, e.g. a hold being confirmed.
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ScheduleAvailabilityEvent {
+
+    private final Long scheduleId;
+
+    private final Long tennisCourtId;
+
+    private final LocalDateTime startDateTime;
+
+    private final LocalDateTime endDateTime;
+
+    private final boolean booked;
+
+    /**
+     * False when only the status of the slot's reservation changed, so the slot is as (un)available as before.
+     */
+    private final boolean availabilityChanged;
+
+    public static ScheduleAvailabilityEvent booked(Schedule schedule) {
+        return of(schedule, true, true);
+    }
+
+    public static ScheduleAvailabilityEvent released(Schedule schedule) {
+        return of(schedule, false, true);
+    }
+
+    public static ScheduleAvailabilityEvent statusChanged(Schedule schedule) {
+        return of(schedule, true, false);
+    }
+
+    private static ScheduleAvailabilityEvent of(Schedule schedule, boolean booked, boolean availabilityChanged) {
+        return new ScheduleAvailabilityEvent(schedule.getId(), schedule.getTennisCourt().getId(),
+                schedule.getStartDateTime(), schedule.getEndDateTime(), booked, availabilityChanged);
+    }
+}
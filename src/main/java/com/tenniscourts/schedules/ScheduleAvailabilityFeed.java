@@ -0,0 +1,292 @@
+package com.tenniscourts.schedules;
+
+import static java.util.Objects.isNull;
+
+import com.tenniscourts.exceptions.BusinessException;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Pushes slot-booked and slot-freed deltas to Server-Sent Events subscribers watching a tennis court and time window.
+ * Committed availability events are only copied into the bounded buffer of every matching subscriber; a small sender
+ * pool drains the buffers, so neither the publishing transaction nor a servlet thread waits on a client. A subscriber
+ * that falls a full buffer behind is evicted and has to reconnect and reload its window. So is one whose client stops
+ * reading and leaves a sender blocked in a write for longer than the send timeout; the pool gets a replacement sender
+ * until that write returns, so stalled connections cannot starve the healthy ones.
+ */
+@Slf4j
+@Component
+public class ScheduleAvailabilityFeed {
+
+    static final String SLOT_BOOKED = "slot-booked";
+
+    static final String SLOT_FREED = "slot-freed";
+
+    private final ScheduleAvailabilityFeedProperties properties;
+
+    private static final long IDLE = Long.MIN_VALUE;
+
+    private static final long BLOCKED = Long.MAX_VALUE;
+
+    private final Executor sender;
+
+    private final ScheduledExecutorService watchdog;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public ScheduleAvailabilityFeed(ScheduleAvailabilityFeedProperties properties) {
+        this(properties, Executors.newFixedThreadPool(properties.getSenderThreads(), runnable -> {
+            Thread thread = new Thread(runnable, "schedule-availability-feed");
+            thread.setDaemon(true);
+            return thread;
+        }), Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "schedule-availability-feed-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    ScheduleAvailabilityFeed(ScheduleAvailabilityFeedProperties properties, Executor sender,
+            ScheduledExecutorService watchdog) {
+        this.properties = properties;
+        this.sender = sender;
+        this.watchdog = watchdog;
+        if (watchdog != null) {
+            long period = Math.max(1, properties.getSendTimeout().toMillis() / 2);
+            watchdog.scheduleWithFixedDelay(this::evictBlockedSubscribers, period, period, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+        if (sender instanceof ExecutorService) {
+            ((ExecutorService) sender).shutdownNow();
+        }
+    }
+
+    /**
+     * Opens a stream of the availability changes of slots inside {@code [startDate, endDate]}, on one tennis court or
+     * on all of them when {@code tennisCourtId} is null.
+     */
+    public SseEmitter subscribe(Long tennisCourtId, LocalDateTime startDate, LocalDateTime endDate) {
+        if (isNull(startDate) || isNull(endDate) || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("A start date before the end date is required.");
+        }
+        if (subscriberCount.incrementAndGet() > properties.getMaxSubscribers()) {
+            subscriberCount.decrementAndGet();
+            throw new BusinessException("Too many availability feed subscribers, try again later.");
+        }
+        SseEmitter emitter = createEmitter(properties.getTimeout().toMillis());
+        Subscriber subscriber = new Subscriber(emitter, tennisCourtId, startDate, endDate,
+                properties.getBufferSize());
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+        try {
+            emitter.send(SseEmitter.event().comment("subscribed"));
+        } catch (IOException e) {
+            evict(subscriber);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(ScheduleAvailabilityEvent event) {
+        if (!event.isAvailabilityChanged() || subscribers.isEmpty()) {
+            return;
+        }
+        Delta delta = new Delta(sequence.incrementAndGet(), ScheduleAvailabilityDeltaDTO.builder()
+                .scheduleId(event.getScheduleId())
+                .tennisCourtId(event.getTennisCourtId())
+                .startDateTime(event.getStartDateTime())
+                .endDateTime(event.getEndDateTime())
+                .booked(event.isBooked())
+                .build());
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.accepts(event)) {
+                continue;
+            }
+            if (!subscriber.buffer.offer(delta)) {
+                log.warn("Evicting slow availability feed subscriber after {} undelivered deltas",
+                        properties.getBufferSize());
+                evict(subscriber);
+            } else if (subscriber.draining.compareAndSet(false, true)) {
+                sender.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    SseEmitter createEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    /**
+     * Evicts the subscribers whose sender has been stuck in one write for longer than the send timeout. The emitter
+     * cannot be completed while the write holds it, so that is left to the sender once the write returns.
+     */
+    void evictBlockedSubscribers() {
+        long now = System.nanoTime();
+        long sendTimeout = properties.getSendTimeout().toNanos();
+        for (Subscriber subscriber : subscribers) {
+            long sendStartedAt = subscriber.sendStartedAt.get();
+            if (sendStartedAt != IDLE && sendStartedAt != BLOCKED && now - sendStartedAt > sendTimeout
+                    && subscriber.sendStartedAt.compareAndSet(sendStartedAt, BLOCKED)) {
+                log.warn("Evicting availability feed subscriber blocked in a write for more than {} ms",
+                        properties.getSendTimeout().toMillis());
+                remove(subscriber);
+                subscriber.buffer.clear();
+                resizeSender(1);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            for (Delta delta = subscriber.buffer.poll(); delta != null; delta = subscriber.buffer.poll()) {
+                if (!send(subscriber, delta)) {
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+        } while (!subscriber.buffer.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    /**
+     * @return whether the subscriber is still subscribed
+     */
+    private boolean send(Subscriber subscriber, Delta delta) {
+        subscriber.sendStartedAt.set(System.nanoTime());
+        boolean sent;
+        try {
+            subscriber.emitter.send(SseEmitter.event()
+                    .id(String.valueOf(delta.id))
+                    .name(delta.data.isBooked() ? SLOT_BOOKED : SLOT_FREED)
+                    .data(delta.data));
+            sent = true;
+        } catch (IOException | IllegalStateException e) {
+            sent = false;
+        }
+        if (subscriber.sendStartedAt.getAndSet(IDLE) == BLOCKED) {
+            resizeSender(-1);
+            subscriber.emitter.complete();
+            return false;
+        }
+        if (!sent) {
+            evict(subscriber);
+        }
+        return sent;
+    }
+
+    /**
+     * Adds or retires senders standing in for the ones stuck in a write to an evicted subscriber.
+     */
+    private void resizeSender(int delta) {
+        if (!(sender instanceof ThreadPoolExecutor)) {
+            return;
+        }
+        ThreadPoolExecutor pool = (ThreadPoolExecutor) sender;
+        synchronized (pool) {
+            if (delta > 0) {
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+                pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+            } else {
+                pool.setCorePoolSize(pool.getCorePoolSize() + delta);
+                pool.setMaximumPoolSize(pool.getMaximumPoolSize() + delta);
+            }
+        }
+    }
+
+    private void evict(Subscriber subscriber) {
+        if (remove(subscriber)) {
+            subscriber.buffer.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriberCount.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    private static final class Delta {
+
+        private final long id;
+
+        private final ScheduleAvailabilityDeltaDTO data;
+
+        private Delta(long id, ScheduleAvailabilityDeltaDTO data) {
+            this.id = id;
+            this.data = data;
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final Long tennisCourtId;
+
+        private final LocalDateTime startDate;
+
+        private final LocalDateTime endDate;
+
+        private final Queue<Delta> buffer;
+
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /**
+         * When the write in progress started, {@code IDLE} between writes, {@code BLOCKED} once evicted during one.
+         */
+        private final AtomicLong sendStartedAt = new AtomicLong(IDLE);
+
+        private Subscriber(SseEmitter emitter, Long tennisCourtId, LocalDateTime startDate, LocalDateTime endDate,
+                int bufferSize) {
+            this.emitter = emitter;
+            this.tennisCourtId = tennisCourtId;
+            this.startDate = startDate;
+            this.endDate = endDate;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private boolean accepts(ScheduleAvailabilityEvent event) {
+            return (isNull(tennisCourtId) || tennisCourtId.equals(event.getTennisCourtId()))
+                    && !event.getStartDateTime().isBefore(startDate) && !event.getEndDateTime().isAfter(endDate);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.tenniscourts.schedules;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "tenniscourts.schedules.feed")
+public class ScheduleAvailabilityFeedProperties {
+
+    /**
+     * Deltas buffered per subscriber; a subscriber whose buffer overflows is evicted.
+     */
+    private int bufferSize = 256;
+
+    private Duration timeout = Duration.ofMinutes(30);
+
+    private int senderThreads = 4;
+
+    /**
+     * Longest a sender may be blocked writing to one subscriber before that subscriber is evicted.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(5);
+
+    private int maxSubscribers = 10_000;
+}
@@ -0,0 +1,309 @@
+package com.tenniscourts.schedules;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.tenniscourts.reservations.ReservationStatus;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * In-memory index of schedule availability. For every tennis court and day it keeps one bitset with the minutes at
+ * which a slot starts and one with the minutes whose slot is booked, so free slots in a window are found without
+ * loading schedules or their reservations from the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleAvailabilityIndex {
+
+    private final ScheduleRepository scheduleRepository;
+
+    private volatile ConcurrentMap<Long, ConcurrentNavigableMap<LocalDate, CourtDay>> courts =
+            new ConcurrentHashMap<>();
+
+    private volatile ConcurrentMap<Long, ConcurrentNavigableMap<LocalDateTime, FreeSlot>> freeSlots =
+            new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        Set<Long> bookedScheduleIds = new HashSet<>(
+                scheduleRepository.findScheduleIdsByReservationStatusIn(ReservationStatus.OCCUPYING));
+        ConcurrentMap<Long, ConcurrentNavigableMap<LocalDate, CourtDay>> rebuilt = new ConcurrentHashMap<>();
+        ConcurrentMap<Long, ConcurrentNavigableMap<LocalDateTime, FreeSlot>> rebuiltFree = new ConcurrentHashMap<>();
+        scheduleRepository.findAllSlots().forEach(slot -> put(rebuilt, rebuiltFree, slot.getId(),
+                slot.getTennisCourtId(), slot.getStartDateTime(), slot.getEndDateTime(),
+                bookedScheduleIds.contains(slot.getId())));
+        courts = rebuilt;
+        freeSlots = rebuiltFree;
+    }
+
+    public void addSlot(Schedule schedule) {
+        put(courts, freeSlots, schedule.getId(), schedule.getTennisCourt().getId(), schedule.getStartDateTime(),
+                schedule.getEndDateTime(), false);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAvailabilityChanged(ScheduleAvailabilityEvent event) {
+        if (!event.isAvailabilityChanged()) {
+            return;
+        }
+        put(courts, freeSlots, event.getScheduleId(), event.getTennisCourtId(), event.getStartDateTime(),
+                event.getEndDateTime(), event.isBooked());
+    }
+
+    /**
+     * Ids of the free slots starting at or after {@code startDate} and ending at or before {@code endDate}, ordered
+     * by start time.
+     */
+    public List<Long> findAvailableScheduleIds(LocalDateTime startDate, LocalDateTime endDate) {
+        if (isNull(startDate) || isNull(endDate)) {
+            return Collections.emptyList();
+        }
+        LocalDateTime from = ceilToMinute(startDate);
+        long maxEndMinute = epochMinute(endDate);
+        List<Long> scheduleIds = new ArrayList<>();
+        LocalDate lastDay = lastIndexedDay(endDate.toLocalDate());
+        for (LocalDate day = firstIndexedDay(from.toLocalDate());
+                nonNull(day) && nonNull(lastDay) && !day.isAfter(lastDay);
+                day = day.plusDays(1)) {
+            int fromMinute = day.equals(from.toLocalDate()) ? minuteOfDay(from) : 0;
+            long dayStartMinute = epochMinute(day.atStartOfDay());
+            List<Candidate> candidates = new ArrayList<>();
+            for (ConcurrentNavigableMap<LocalDate, CourtDay> days : courts.values()) {
+                CourtDay courtDay = days.get(day);
+                if (nonNull(courtDay)) {
+                    courtDay.collectFree(fromMinute, dayStartMinute, maxEndMinute, candidates);
+                }
+            }
+            candidates.sort(Comparator.comparingLong((Candidate candidate) -> candidate.startMinute)
+                    .thenComparingLong(candidate -> candidate.scheduleId));
+            for (Candidate candidate : candidates) {
+                scheduleIds.add(candidate.scheduleId);
+            }
+        }
+        return scheduleIds;
+    }
+
+    /**
+     * Ids of the earliest run of back-to-back free slots on one court that starts at or after {@code from} and lasts
+     * at least {@code minLength}, or an empty list. Every court keeps its free slots in a skip list; the courts are
+     * merged through a priority queue on their next free slot, so with a one slot run the answer takes one
+     * {@code O(log n)} lookup per court.
+     */
+    public List<Long> findNextAvailableScheduleIds(LocalDateTime from, Duration minLength) {
+        PriorityQueue<CourtCursor> cursors = new PriorityQueue<>(Comparator
+                .comparing((CourtCursor cursor) -> cursor.current.getKey())
+                .thenComparingLong(cursor -> cursor.current.getValue().scheduleId));
+        freeSlots.values().forEach(slots -> {
+            Map.Entry<LocalDateTime, FreeSlot> first = slots.ceilingEntry(from);
+            if (nonNull(first)) {
+                cursors.add(new CourtCursor(slots, first));
+            }
+        });
+        for (CourtCursor cursor = cursors.poll(); nonNull(cursor); cursor = cursors.poll()) {
+            List<Long> run = findRun(cursor.slots, cursor.current, minLength);
+            if (!run.isEmpty()) {
+                return run;
+            }
+            Map.Entry<LocalDateTime, FreeSlot> next = cursor.slots.higherEntry(cursor.current.getKey());
+            if (nonNull(next)) {
+                cursors.add(new CourtCursor(cursor.slots, next));
+            }
+        }
+        return Collections.emptyList();
+    }
+
+    private static List<Long> findRun(NavigableMap<LocalDateTime, FreeSlot> slots,
+            Map.Entry<LocalDateTime, FreeSlot> first, Duration minLength) {
+        LocalDateTime runEnd = first.getKey().plus(minLength);
+        LocalDateTime slotStart = first.getKey();
+        List<Long> run = new ArrayList<>();
+        for (FreeSlot slot = first.getValue(); nonNull(slot) && slot.endDateTime.isAfter(slotStart);
+                slot = slots.get(slotStart)) {
+            run.add(slot.scheduleId);
+            if (!slot.endDateTime.isBefore(runEnd)) {
+                return run;
+            }
+            slotStart = slot.endDateTime;
+        }
+        return Collections.emptyList();
+    }
+
+    /**
+     * First day at or after {@code from} on which any court has slots, or null. Together with
+     * {@link #lastIndexedDay(LocalDate)} it keeps wide windows from being walked through days without slots.
+     */
+    private LocalDate firstIndexedDay(LocalDate from) {
+        LocalDate first = null;
+        for (ConcurrentNavigableMap<LocalDate, CourtDay> days : courts.values()) {
+            LocalDate courtFirst = days.ceilingKey(from);
+            if (nonNull(courtFirst) && (isNull(first) || courtFirst.isBefore(first))) {
+                first = courtFirst;
+            }
+        }
+        return first;
+    }
+
+    private LocalDate lastIndexedDay(LocalDate to) {
+        LocalDate last = null;
+        for (ConcurrentNavigableMap<LocalDate, CourtDay> days : courts.values()) {
+            LocalDate courtLast = days.floorKey(to);
+            if (nonNull(courtLast) && (isNull(last) || courtLast.isAfter(last))) {
+                last = courtLast;
+            }
+        }
+        return last;
+    }
+
+    private static void put(ConcurrentMap<Long, ConcurrentNavigableMap<LocalDate, CourtDay>> courts,
+            ConcurrentMap<Long, ConcurrentNavigableMap<LocalDateTime, FreeSlot>> freeSlots, Long scheduleId,
+            Long tennisCourtId, LocalDateTime startDateTime, LocalDateTime endDateTime, boolean booked) {
+        courts.computeIfAbsent(tennisCourtId, id -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(startDateTime.toLocalDate(), day -> new CourtDay())
+                .put(minuteOfDay(startDateTime), scheduleId, epochMinute(endDateTime), booked);
+        ConcurrentNavigableMap<LocalDateTime, FreeSlot> courtFreeSlots =
+                freeSlots.computeIfAbsent(tennisCourtId, id -> new ConcurrentSkipListMap<>());
+        if (booked) {
+            courtFreeSlots.remove(startDateTime);
+        } else {
+            courtFreeSlots.put(startDateTime, new FreeSlot(scheduleId, endDateTime));
+        }
+    }
+
+    private static LocalDateTime ceilToMinute(LocalDateTime dateTime) {
+        LocalDateTime truncated = dateTime.truncatedTo(ChronoUnit.MINUTES);
+        return truncated.equals(dateTime) ? truncated : truncated.plusMinutes(1);
+    }
+
+    private static int minuteOfDay(LocalDateTime dateTime) {
+        return dateTime.getHour() * 60 + dateTime.getMinute();
+    }
+
+    private static long epochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    @AllArgsConstructor
+    private static final class FreeSlot {
+
+        private final long scheduleId;
+
+        private final LocalDateTime endDateTime;
+    }
+
+    @AllArgsConstructor
+    private static final class CourtCursor {
+
+        private final NavigableMap<LocalDateTime, FreeSlot> slots;
+
+        private final Map.Entry<LocalDateTime, FreeSlot> current;
+    }
+
+    @AllArgsConstructor
+    private static final class Candidate {
+
+        private final long startMinute;
+
+        private final long scheduleId;
+    }
+
+    /**
+     * Slots of one court on one day. Bit {@code m} of {@code slots} is set when a slot starts at minute {@code m} of
+     * the day; the slot's id and end are stored at the position given by the number of slots starting before it.
+     */
+    private static final class CourtDay {
+
+        private static final int MINUTES_PER_DAY = 24 * 60;
+
+        private final long[] slots = new long[(MINUTES_PER_DAY + 63) / 64];
+
+        private final long[] booked = new long[slots.length];
+
+        private long[] scheduleIds = new long[0];
+
+        private long[] endMinutes = new long[0];
+
+        synchronized void put(int minute, long scheduleId, long endMinute, boolean isBooked) {
+            int position = rank(minute);
+            if (!isSet(slots, minute)) {
+                scheduleIds = insertAt(scheduleIds, position);
+                endMinutes = insertAt(endMinutes, position);
+                slots[minute >>> 6] |= 1L << minute;
+            }
+            scheduleIds[position] = scheduleId;
+            endMinutes[position] = endMinute;
+            if (isBooked) {
+                booked[minute >>> 6] |= 1L << minute;
+            } else {
+                booked[minute >>> 6] &= ~(1L << minute);
+            }
+        }
+
+        synchronized void collectFree(int fromMinute, long dayStartMinute, long maxEndMinute,
+                List<Candidate> target) {
+            for (int minute = nextFree(fromMinute); minute >= 0; minute = nextFree(minute + 1)) {
+                int position = rank(minute);
+                if (endMinutes[position] <= maxEndMinute) {
+                    target.add(new Candidate(dayStartMinute + minute, scheduleIds[position]));
+                }
+            }
+        }
+
+        private int nextFree(int fromMinute) {
+            if (fromMinute >= MINUTES_PER_DAY) {
+                return -1;
+            }
+            int word = fromMinute >>> 6;
+            long bits = slots[word] & ~booked[word] & (-1L << fromMinute);
+            while (bits == 0) {
+                if (++word == slots.length) {
+                    return -1;
+                }
+                bits = slots[word] & ~booked[word];
+            }
+            return word * 64 + Long.numberOfTrailingZeros(bits);
+        }
+
+        private int rank(int minute) {
+            int word = minute >>> 6;
+            int count = 0;
+            for (int i = 0; i < word; i++) {
+                count += Long.bitCount(slots[i]);
+            }
+            return count + Long.bitCount(slots[word] & ((1L << minute) - 1));
+        }
+
+        private static boolean isSet(long[] bits, int minute) {
+            return (bits[minute >>> 6] & (1L << minute)) != 0;
+        }
+
+        private static long[] insertAt(long[] values, int position) {
+            long[] grown = Arrays.copyOf(values, values.length + 1);
+            System.arraycopy(values, position, grown, position + 1, values.length - position);
+            return grown;
+        }
+    }
+}
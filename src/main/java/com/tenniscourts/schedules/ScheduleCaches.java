@@ -0,0 +1,160 @@
+package com.tenniscourts.schedules;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import com.tenniscourts.config.cache.BoundedCache;
+import com.tenniscourts.config.cache.ReadThroughCaches;
+import com.tenniscourts.pricing.PricesChangedEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through caches of the schedule reads, each invalidated only by the writes that can change it: new slots touch
+ * the interval lists and matrices containing them, bookings and releases touch the available lists and matrices
+ * containing the slot, confirmed holds touch only those matrices, and price changes touch every available list and
+ * matrix. Availability events are handled inside the publishing transaction, so the affected entries bypass the cache
+ * until it completes and a booked slot is never served as free once the booking committed.
+ */
+@Component
+public class ScheduleCaches {
+
+    private final BoundedCache<Long, ScheduleDTO> schedules;
+
+    private final BoundedCache<Window, List<ScheduleDTO>> schedulesByDates;
+
+    private final BoundedCache<Window, List<ScheduleDTO>> availableSchedulesByDates;
+
+    private final BoundedCache<MatrixWindow, ScheduleMatrixDTO> scheduleMatrices;
+
+    private final ScheduleMapper scheduleMapper;
+
+    public ScheduleCaches(ReadThroughCaches readThroughCaches, ScheduleMapper scheduleMapper) {
+        this.scheduleMapper = scheduleMapper;
+        this.schedules = readThroughCaches.create("schedules");
+        this.schedulesByDates = readThroughCaches.create("schedulesByDates");
+        this.availableSchedulesByDates = readThroughCaches.create("availableSchedulesByDates");
+        this.scheduleMatrices = readThroughCaches.create("scheduleMatrices");
+    }
+
+    /**
+     * Returns a copy of the cached schedule, since callers may modify it.
+     */
+    public ScheduleDTO schedule(Long scheduleId, Supplier<ScheduleDTO> loader) {
+        return scheduleMapper.copy(schedules.get(scheduleId, loader));
+    }
+
+    public List<ScheduleDTO> schedulesByDates(LocalDateTime startDate, LocalDateTime endDate,
+            Supplier<List<ScheduleDTO>> loader) {
+        return scheduleMapper.copy(schedulesByDates.get(new Window(startDate, endDate), loader));
+    }
+
+    public List<ScheduleDTO> availableSchedulesByDates(LocalDateTime startDate, LocalDateTime endDate,
+            Supplier<List<ScheduleDTO>> loader) {
+        return scheduleMapper.copy(availableSchedulesByDates.get(new Window(startDate, endDate), loader));
+    }
+
+    /**
+     * @param tennisCourtIds sorted courts the matrix is restricted to, {@code null} for every court
+     */
+    public ScheduleMatrixDTO scheduleMatrix(LocalDateTime startDate, LocalDateTime endDate, Set<Long> tennisCourtIds,
+            Supplier<ScheduleMatrixDTO> loader) {
+        return scheduleMatrices.get(new MatrixWindow(startDate, endDate, tennisCourtIds), loader);
+    }
+
+    public void slotAdded(Schedule schedule) {
+        schedulesByDates.invalidateIf(window -> window.contains(schedule.getStartDateTime(),
+                schedule.getEndDateTime()));
+        availableSchedulesByDates.invalidateIf(window -> window.contains(schedule.getStartDateTime(),
+                schedule.getEndDateTime()));
+        scheduleMatrices.invalidateIf(window -> window.contains(schedule.getTennisCourt().getId(),
+                schedule.getStartDateTime()));
+    }
+
+    /**
+     * Like {@link #slotAdded(Schedule)} for many slots of one court at once, e.g. an expanded template: entries are
+     * matched once against the span from the first start to the last end instead of once per slot.
+     */
+    public void slotsAdded(Long tennisCourtId, List<Schedule> added) {
+        if (added.isEmpty()) {
+            return;
+        }
+        LocalDateTime from = added.get(0).getStartDateTime();
+        LocalDateTime to = added.get(0).getEndDateTime();
+        for (Schedule schedule : added) {
+            from = schedule.getStartDateTime().isBefore(from) ? schedule.getStartDateTime() : from;
+            to = schedule.getEndDateTime().isAfter(to) ? schedule.getEndDateTime() : to;
+        }
+        LocalDateTime spanStart = from;
+        LocalDateTime spanEnd = to;
+        schedulesByDates.invalidateIf(window -> window.overlaps(spanStart, spanEnd));
+        availableSchedulesByDates.invalidateIf(window -> window.overlaps(spanStart, spanEnd));
+        scheduleMatrices.invalidateIf(window -> window.overlaps(tennisCourtId, spanStart, spanEnd));
+    }
+
+    @EventListener
+    public void onAvailabilityChanged(ScheduleAvailabilityEvent event) {
+        if (event.isAvailabilityChanged()) {
+            availableSchedulesByDates.invalidateIf(window -> window.contains(event.getStartDateTime(),
+                    event.getEndDateTime()));
+        }
+        scheduleMatrices.invalidateIf(window -> window.contains(event.getTennisCourtId(), event.getStartDateTime()));
+    }
+
+    @EventListener
+    public void onPricesChanged(PricesChangedEvent event) {
+        availableSchedulesByDates.invalidateIf(window -> true);
+        scheduleMatrices.invalidateIf(window -> true);
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class Window {
+
+        private final LocalDateTime startDate;
+
+        private final LocalDateTime endDate;
+
+        /**
+         * Whether a slot belongs to this window under the same rule the interval queries apply.
+         */
+        private boolean contains(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+            return nonNull(startDate) && nonNull(endDate)
+                    && !startDateTime.isBefore(startDate) && !endDateTime.isAfter(endDate);
+        }
+
+        /**
+         * Whether a slot starting and ending within {@code [from, to]} may belong to this window.
+         */
+        private boolean overlaps(LocalDateTime from, LocalDateTime to) {
+            return nonNull(startDate) && nonNull(endDate) && !startDate.isAfter(to) && !endDate.isBefore(from);
+        }
+    }
+
+    @AllArgsConstructor
+    @EqualsAndHashCode
+    private static final class MatrixWindow {
+
+        private final LocalDateTime startDate;
+
+        private final LocalDateTime endDate;
+
+        private final Set<Long> tennisCourtIds;
+
+        private boolean contains(Long tennisCourtId, LocalDateTime startDateTime) {
+            return (isNull(tennisCourtIds) || tennisCourtIds.contains(tennisCourtId))
+                    && !startDateTime.isBefore(startDate) && startDateTime.isBefore(endDate);
+        }
+
+        private boolean overlaps(Long tennisCourtId, LocalDateTime from, LocalDateTime to) {
+            return (isNull(tennisCourtIds) || tennisCourtIds.contains(tennisCourtId))
+                    && !startDate.isAfter(to) && endDate.isAfter(from);
+        }
+    }
+}
@@ -1,16 +1,25 @@
 package com.tenniscourts.schedules;
 
 import com.tenniscourts.config.BaseRestController;
+import com.tenniscourts.config.NdjsonWriter;
+import com.tenniscourts.config.pagination.CursorPageDTO;
+import com.tenniscourts.config.pagination.PageCursor;
 import io.swagger.annotations.ApiOperation;
+import java.time.LocalDateTime;
 import java.util.List;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @AllArgsConstructor
@@ -19,6 +28,10 @@ public class ScheduleController extends BaseRestController {
 
     private final ScheduleService scheduleService;
 
+    private final NdjsonWriter ndjsonWriter;
+
+    private final ScheduleAvailabilityFeed scheduleAvailabilityFeed;
+
     @PostMapping
     @ApiOperation(value = "Add a new schedule slot for a given tennis court")
     public ResponseEntity<Void> addScheduleTennisCourt(@RequestBody CreateScheduleRequestDTO createScheduleRequestDTO) {
@@ -27,6 +40,13 @@ public class ScheduleController extends BaseRestController {
                         .getId())).build();
     }
 
+    @PostMapping("/templates")
+    @ApiOperation(value = "Generate the slots of a recurring template for a given tennis court")
+    public ResponseEntity<ScheduleTemplateResultDTO> addScheduleTemplate(
+            @RequestBody CreateScheduleTemplateRequestDTO createScheduleTemplateRequestDTO) {
+        return ResponseEntity.ok(scheduleService.addScheduleTemplate(createScheduleTemplateRequestDTO));
+    }
+
     @PostMapping("/filter")
     @ApiOperation(value = "Find schedules in interval")
     public ResponseEntity<List<ScheduleDTO>> findSchedulesByDates(@RequestBody ScheduleFilterDTO scheduleFilterDTO) {
@@ -34,6 +54,33 @@ public class ScheduleController extends BaseRestController {
                 scheduleFilterDTO.getEndDate()));
     }
 
+    @PostMapping("/filter/page")
+    @ApiOperation(value = "Find schedules in interval page by page")
+    public ResponseEntity<CursorPageDTO<ScheduleDTO>> findSchedulesPageByDates(
+            @RequestBody ScheduleFilterDTO scheduleFilterDTO,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(scheduleService.findSchedulesPageByDates(scheduleFilterDTO.getStartDate(),
+                scheduleFilterDTO.getEndDate(), cursor, limit));
+    }
+
+    @GetMapping("/next-available")
+    @ApiOperation(value = "Find the earliest free slots on any court, optionally a run of consecutive hours")
+    public ResponseEntity<List<ScheduleDTO>> findNextAvailableSchedules(
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime from,
+            @RequestParam(defaultValue = "1") int hours) {
+        return ResponseEntity.ok(scheduleService.findNextAvailableSchedules(from, hours));
+    }
+
+    @GetMapping("/matrix")
+    @ApiOperation(value = "Find the courts by slots status grid of an interval, optionally for some courts only")
+    public ResponseEntity<ScheduleMatrixDTO> findScheduleMatrix(
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime endDate,
+            @RequestParam(required = false) List<Long> tennisCourtIds) {
+        return ResponseEntity.ok(scheduleService.findScheduleMatrix(startDate, endDate, tennisCourtIds));
+    }
+
     @GetMapping("/{scheduleId}")
     @ApiOperation(value = "Find a schedule by ID")
     public ResponseEntity<ScheduleDTO> findByScheduleId(@PathVariable Long scheduleId) {
@@ -46,10 +93,45 @@ public class ScheduleController extends BaseRestController {
         return ResponseEntity.ok(scheduleService.findAllSchedules());
     }
 
+    @GetMapping("/page")
+    @ApiOperation(value = "Find all schedules page by page")
+    public ResponseEntity<CursorPageDTO<ScheduleDTO>> findAllSchedulesPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(scheduleService.findSchedulesPage(cursor, limit));
+    }
+
+    @GetMapping(produces = NdjsonWriter.APPLICATION_NDJSON_VALUE)
+    @ApiOperation(value = "Stream all schedules as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamAllSchedules() {
+        return ResponseEntity.ok()
+                .contentType(NdjsonWriter.APPLICATION_NDJSON)
+                .body(ndjsonWriter.write(scheduleService::streamAllSchedules));
+    }
+
     @PostMapping("/filter/available")
     @ApiOperation(value = "Find available schedules")
     public ResponseEntity<List<ScheduleDTO>> findAvailableSchedules(@RequestBody ScheduleFilterDTO scheduleFilterDTO) {
         return ResponseEntity.ok(scheduleService.findAvailableSchedulesByDates(scheduleFilterDTO.getStartDate(),
                 scheduleFilterDTO.getEndDate()));
     }
+
+    @GetMapping(path = "/available/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ApiOperation(value = "Stream slot-booked and slot-freed events of a tennis court and interval")
+    public SseEmitter subscribeAvailabilityFeed(
+            @RequestParam(required = false) Long tennisCourtId,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime endDate) {
+        return scheduleAvailabilityFeed.subscribe(tennisCourtId, startDate, endDate);
+    }
+
+    @PostMapping("/filter/available/page")
+    @ApiOperation(value = "Find available schedules page by page")
+    public ResponseEntity<CursorPageDTO<ScheduleDTO>> findAvailableSchedulesPage(
+            @RequestBody ScheduleFilterDTO scheduleFilterDTO,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(scheduleService.findAvailableSchedulesPageByDates(scheduleFilterDTO.getStartDate(),
+                scheduleFilterDTO.getEndDate(), scheduleFilterDTO.getTennisCourtIds(), cursor, limit));
+    }
 }
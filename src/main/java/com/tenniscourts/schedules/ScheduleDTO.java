@@ -2,6 +2,7 @@ package com.tenniscourts.schedules;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.tenniscourts.tenniscourts.TennisCourtDTO;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import javax.validation.constraints.NotNull;
 import lombok.Getter;
@@ -25,4 +26,9 @@ public class ScheduleDTO {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm")
     private LocalDateTime endDateTime;
 
+    /**
+     * Current price of the slot, only given where schedules are offered for booking.
+     */
+    private BigDecimal price;
+
 }
@@ -1,7 +1,9 @@
 package com.tenniscourts.schedules;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import io.swagger.annotations.ApiModelProperty;
 import java.time.LocalDateTime;
+import java.util.List;
 import javax.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -15,4 +17,7 @@ public class ScheduleFilterDTO {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm")
     @NotNull
     private LocalDateTime endDate;
+
+    @ApiModelProperty(value = "Only schedules of these tennis courts, all courts when missing")
+    private List<Long> tennisCourtIds;
 }
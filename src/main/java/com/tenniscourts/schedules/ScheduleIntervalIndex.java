@@ -0,0 +1,86 @@
+package com.tenniscourts.schedules;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time covered by the slots of every tennis court, kept as a sorted map of disjoint intervals so that whether a new
+ * slot overlaps an existing one is answered with a single O(log n) lookup. Slots that touch or overlap are merged into
+ * one interval, which keeps the lookup exact even if the database already holds overlapping slots.
+ *
+ * <p>Each court has its own lock. Callers check and insert slots of a court inside {@link #withCourtLock} and call
+ * {@link #add} only after the insert committed, so the index never disagrees with the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ScheduleIntervalIndex {
+
+    private final ScheduleRepository scheduleRepository;
+
+    private final ConcurrentMap<Long, CourtIntervals> courts = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        scheduleRepository.findAllSlots().forEach(slot -> withCourtLock(slot.getTennisCourtId(), () -> {
+            add(slot.getTennisCourtId(), slot.getStartDateTime(), slot.getEndDateTime());
+            return null;
+        }));
+    }
+
+    public <T> T withCourtLock(Long tennisCourtId, Supplier<T> action) {
+        ReentrantLock lock = court(tennisCourtId).lock;
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Whether {@code [startDateTime, endDateTime)} overlaps a slot of the court. Must be called holding the court lock.
+     */
+    public boolean overlaps(Long tennisCourtId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        Map.Entry<LocalDateTime, LocalDateTime> before = court(tennisCourtId).covered.lowerEntry(endDateTime);
+        return before != null && before.getValue().isAfter(startDateTime);
+    }
+
+    /**
+     * Records a committed slot. Must be called holding the court lock.
+     */
+    public void add(Long tennisCourtId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        TreeMap<LocalDateTime, LocalDateTime> covered = court(tennisCourtId).covered;
+        LocalDateTime start = startDateTime;
+        LocalDateTime end = endDateTime;
+        Map.Entry<LocalDateTime, LocalDateTime> before = covered.floorEntry(start);
+        if (before != null && !before.getValue().isBefore(start)) {
+            start = before.getKey();
+        }
+        for (Map.Entry<LocalDateTime, LocalDateTime> next = covered.ceilingEntry(start);
+                next != null && !next.getKey().isAfter(end); next = covered.ceilingEntry(start)) {
+            end = next.getValue().isAfter(end) ? next.getValue() : end;
+            covered.remove(next.getKey());
+        }
+        covered.put(start, end);
+    }
+
+    private CourtIntervals court(Long tennisCourtId) {
+        return courts.computeIfAbsent(tennisCourtId, id -> new CourtIntervals());
+    }
+
+    private static final class CourtIntervals {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final TreeMap<LocalDateTime, LocalDateTime> covered = new TreeMap<>();
+    }
+}
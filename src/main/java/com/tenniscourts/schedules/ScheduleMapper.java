@@ -1,14 +1,23 @@
 package com.tenniscourts.schedules;
 
+import com.tenniscourts.tenniscourts.TennisCourtDTO;
 import java.util.List;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface ScheduleMapper {
 
     Schedule map(ScheduleDTO source);
 
+    @Mapping(target = "price", ignore = true)
     ScheduleDTO map(Schedule source);
 
     List<ScheduleDTO> map(List<Schedule> source);
+
+    ScheduleDTO copy(ScheduleDTO source);
+
+    List<ScheduleDTO> copy(List<ScheduleDTO> source);
+
+    TennisCourtDTO copy(TennisCourtDTO source);
 }
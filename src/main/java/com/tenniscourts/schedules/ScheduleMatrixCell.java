@@ -0,0 +1,21 @@
+package com.tenniscourts.schedules;
+
+import com.tenniscourts.reservations.ReservationStatus;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One slot of the schedule matrix with the reservation occupying it, if any.
+ */
+public interface ScheduleMatrixCell {
+
+    Long getId();
+
+    Long getTennisCourtId();
+
+    LocalDateTime getStartDateTime();
+
+    ReservationStatus getReservationStatus();
+
+    BigDecimal getValue();
+}
@@ -0,0 +1,39 @@
+package com.tenniscourts.schedules;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Courts by slot start times grid. Column {@code i} of every row describes the slot starting at
+ * {@code slotStartDateTimes[i]}: its status code in {@code statuses}, its id in {@code scheduleIds} and its price in
+ * {@code prices}, the last two being {@code null} where the court has no such slot. Immutable, so one cached grid can
+ * be served to every caller.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class ScheduleMatrixDTO {
+
+    public static final char NO_SLOT = '-';
+
+    public static final char FREE = 'F';
+
+    public static final char HELD = 'H';
+
+    public static final char BOOKED = 'B';
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm")
+    private final LocalDateTime startDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm")
+    private final LocalDateTime endDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm")
+    private final List<LocalDateTime> slotStartDateTimes;
+
+    private final List<ScheduleMatrixRowDTO> tennisCourts;
+}
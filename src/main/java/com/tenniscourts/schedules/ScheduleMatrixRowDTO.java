@@ -0,0 +1,21 @@
+package com.tenniscourts.schedules;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+@AllArgsConstructor
+public class ScheduleMatrixRowDTO {
+
+    private final Long tennisCourtId;
+
+    private final String statuses;
+
+    private final List<Long> scheduleIds;
+
+    private final List<BigDecimal> prices;
+}
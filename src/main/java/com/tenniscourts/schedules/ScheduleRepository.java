@@ -1,16 +1,142 @@
 package com.tenniscourts.schedules;
 
+import com.tenniscourts.reservations.ReservationStatus;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+import javax.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-public interface ScheduleRepository extends JpaRepository<Schedule, Long> {
+public interface ScheduleRepository extends JpaRepository<Schedule, Long>, ScheduleRepositoryCustom {
 
-    List<Schedule> findByTennisCourt_IdOrderByStartDateTime(Long id);
+    /**
+     * Schedules in an interval without an active reservation. The anti-join probes the unique index on
+     * {@code reservation.active_schedule_id}, so booked slots are skipped inside the database instead of being loaded.
+     */
+    String AVAILABLE_IN_INTERVAL = "select s from Schedule s where s.startDateTime >= :startDate "
+            + "and s.endDateTime <= :endDate "
+            + "and not exists (select r.id from Reservation r where r.activeScheduleId = s.id) ";
+
+    /**
+     * Slots of one court starting in {@code [startDate, endDate)}, a range scan of the court's start time index.
+     */
+    String OF_TENNIS_COURT_STARTING_IN = "select s from Schedule s where s.tennisCourt.id = :tennisCourtId "
+            + "and s.startDateTime >= :startDate and s.startDateTime < :endDate ";
+
+    /**
+     * Slots starting in {@code [startDate, endDate)} with the reservation occupying each, found by probing the unique
+     * index on {@code reservation.active_schedule_id}, so the whole grid comes back in one round trip.
+     */
+    String MATRIX_CELLS = "select s.id as id, s.tennisCourt.id as tennisCourtId, s.startDateTime as startDateTime, "
+            + "r.reservationStatus as reservationStatus, r.value as value from Schedule s "
+            + "left join Reservation r on r.activeScheduleId = s.id "
+            + "where s.startDateTime >= :startDate and s.startDateTime < :endDate ";
+
+    String IN_TENNIS_COURTS = "and s.tennisCourt.id in :tennisCourtIds ";
+
+    String AFTER_CURSOR = "and (s.startDateTime > :startDateTime "
+            + "or (s.startDateTime = :startDateTime and s.id > :id)) ";
+
+    String BY_START = "order by s.startDateTime, s.id";
+
+    String BY_TENNIS_COURT_AND_START = "order by s.tennisCourt.id, s.startDateTime, s.id";
+
+    @Override
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    List<Schedule> findAll();
+
+    @Override
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    List<Schedule> findAllById(Iterable<Long> ids);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query(OF_TENNIS_COURT_STARTING_IN + BY_START)
+    List<Schedule> findTennisCourtPage(@Param("tennisCourtId") Long tennisCourtId,
+            @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query(OF_TENNIS_COURT_STARTING_IN + AFTER_CURSOR + BY_START)
+    List<Schedule> findTennisCourtPageAfter(@Param("tennisCourtId") Long tennisCourtId,
+            @Param("startDate") LocalDateTime startDate, @Param("endDate") LocalDateTime endDate,
+            @Param("startDateTime") LocalDateTime startDateTime, @Param("id") Long id, Pageable pageable);
 
     Optional<Schedule> findByTennisCourt_IdAndStartDateTime(Long id, LocalDateTime localDateTime);
 
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
     List<Schedule> findAllByStartDateTimeGreaterThanEqualAndEndDateTimeLessThanEqual(LocalDateTime startDateTime,
             LocalDateTime endDateTime);
-}
\ No newline at end of file
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query("select s from Schedule s order by s.startDateTime, s.id")
+    List<Schedule> findPage(Pageable pageable);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query("select s from Schedule s where s.startDateTime > :startDateTime "
+            + "or (s.startDateTime = :startDateTime and s.id > :id) order by s.startDateTime, s.id")
+    List<Schedule> findPageAfter(@Param("startDateTime") LocalDateTime startDateTime, @Param("id") Long id,
+            Pageable pageable);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query("select s from Schedule s where s.startDateTime >= :startDate and s.endDateTime <= :endDate "
+            + "order by s.startDateTime, s.id")
+    List<Schedule> findPageInInterval(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query("select s from Schedule s where s.startDateTime >= :startDate and s.endDateTime <= :endDate "
+            + "and (s.startDateTime > :startDateTime or (s.startDateTime = :startDateTime and s.id > :id)) "
+            + "order by s.startDateTime, s.id")
+    List<Schedule> findPageInIntervalAfter(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query(AVAILABLE_IN_INTERVAL + BY_START)
+    List<Schedule> findAvailablePage(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, Pageable pageable);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query(AVAILABLE_IN_INTERVAL + AFTER_CURSOR + BY_START)
+    List<Schedule> findAvailablePageAfter(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, @Param("startDateTime") LocalDateTime startDateTime,
+            @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query(AVAILABLE_IN_INTERVAL + IN_TENNIS_COURTS + BY_START)
+    List<Schedule> findAvailablePageInTennisCourts(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, @Param("tennisCourtIds") Collection<Long> tennisCourtIds,
+            Pageable pageable);
+
+    @EntityGraph(Schedule.WITH_TENNIS_COURT)
+    @Query(AVAILABLE_IN_INTERVAL + IN_TENNIS_COURTS + AFTER_CURSOR + BY_START)
+    List<Schedule> findAvailablePageInTennisCourtsAfter(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, @Param("tennisCourtIds") Collection<Long> tennisCourtIds,
+            @Param("startDateTime") LocalDateTime startDateTime, @Param("id") Long id, Pageable pageable);
+
+    @Query(MATRIX_CELLS + BY_TENNIS_COURT_AND_START)
+    List<ScheduleMatrixCell> findMatrixCells(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate);
+
+    @Query(MATRIX_CELLS + IN_TENNIS_COURTS + BY_TENNIS_COURT_AND_START)
+    List<ScheduleMatrixCell> findMatrixCellsInTennisCourts(@Param("startDate") LocalDateTime startDate,
+            @Param("endDate") LocalDateTime endDate, @Param("tennisCourtIds") Collection<Long> tennisCourtIds);
+
+    @QueryHints({@QueryHint(name = "org.hibernate.fetchSize", value = "500"),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")})
+    @Query("select s from Schedule s join fetch s.tennisCourt order by s.id")
+    Stream<Schedule> streamAll();
+
+    @Query("select s.id as id, s.tennisCourt.id as tennisCourtId, s.startDateTime as startDateTime, "
+            + "s.endDateTime as endDateTime from Schedule s")
+    List<ScheduleSlot> findAllSlots();
+
+    @Query("select distinct r.schedule.id from Reservation r where r.reservationStatus in :statuses")
+    List<Long> findScheduleIdsByReservationStatusIn(@Param("statuses") Collection<ReservationStatus> statuses);
+}
@@ -0,0 +1,11 @@
+package com.tenniscourts.schedules;
+
+import java.util.List;
+
+public interface ScheduleRepositoryCustom {
+
+    /**
+     * Inserts new slots of one tennis court with JDBC batching and assigns their generated ids.
+     */
+    void insertAll(List<Schedule> schedules);
+}
@@ -0,0 +1,78 @@
+package com.tenniscourts.schedules;
+
+import com.tenniscourts.audit.AuditAction;
+import com.tenniscourts.audit.AuditJournal;
+import com.tenniscourts.audit.CustomAuditEntityListener;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@RequiredArgsConstructor
+public class ScheduleRepositoryImpl implements ScheduleRepositoryCustom {
+
+    private static final int BATCH_SIZE = 100;
+
+    private static final String INSERT_SCHEDULE = "insert into schedule (tennis_court_id, start_date_time, "
+            + "end_date_time, user_create, user_update, date_create, date_update, ip_number_create, ip_number_update) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_IDS = "select id, start_date_time from schedule "
+            + "where tennis_court_id = :tennisCourtId and start_date_time between :first and :last";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    private final AuditJournal auditJournal;
+
+    private final CustomAuditEntityListener auditEntityListener = new CustomAuditEntityListener();
+
+    @Override
+    public void insertAll(List<Schedule> schedules) {
+        if (schedules.isEmpty()) {
+            return;
+        }
+        Long tennisCourtId = schedules.get(0).getTennisCourt().getId();
+        // JPA callbacks do not run for plain JDBC writes, so apply them by hand.
+        schedules.forEach(auditEntityListener::prePersist);
+
+        jdbcTemplate.getJdbcOperations().batchUpdate(INSERT_SCHEDULE, schedules, BATCH_SIZE,
+                (statement, schedule) -> {
+                    statement.setLong(1, schedule.getTennisCourt().getId());
+                    statement.setTimestamp(2, Timestamp.valueOf(schedule.getStartDateTime()));
+                    statement.setTimestamp(3, Timestamp.valueOf(schedule.getEndDateTime()));
+                    statement.setObject(4, schedule.getUserCreate());
+                    statement.setObject(5, schedule.getUserUpdate());
+                    statement.setTimestamp(6, Timestamp.valueOf(schedule.getDateCreate()));
+                    statement.setTimestamp(7, Timestamp.valueOf(schedule.getDateUpdate()));
+                    statement.setString(8, schedule.getIpNumberCreate());
+                    statement.setString(9, schedule.getIpNumberUpdate());
+                });
+
+        // The new rows are the newest ones of the court starting at each of their start times.
+        Set<LocalDateTime> startDateTimes = new HashSet<>();
+        schedules.forEach(schedule -> startDateTimes.add(schedule.getStartDateTime()));
+        Map<LocalDateTime, Long> idsByStartDateTime = new HashMap<>();
+        Comparator<Schedule> byStart = Comparator.comparing(Schedule::getStartDateTime);
+        jdbcTemplate.query(SELECT_IDS, new MapSqlParameterSource()
+                        .addValue("tennisCourtId", tennisCourtId)
+                        .addValue("first", schedules.stream().min(byStart).get().getStartDateTime())
+                        .addValue("last", schedules.stream().max(byStart).get().getStartDateTime()),
+                resultSet -> {
+                    LocalDateTime startDateTime = resultSet.getTimestamp("start_date_time").toLocalDateTime();
+                    if (startDateTimes.contains(startDateTime)) {
+                        idsByStartDateTime.merge(startDateTime, resultSet.getLong("id"), Math::max);
+                    }
+                });
+        schedules.forEach(schedule -> {
+            schedule.setId(idsByStartDateTime.get(schedule.getStartDateTime()));
+            auditJournal.record(schedule, AuditAction.CREATE);
+        });
+    }
+}
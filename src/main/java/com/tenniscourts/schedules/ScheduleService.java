@@ -2,23 +2,53 @@ package com.tenniscourts.schedules;
 
 import static java.util.Objects.isNull;
 
+import com.tenniscourts.config.pagination.CursorPageDTO;
+import com.tenniscourts.config.pagination.PageCursor;
 import com.tenniscourts.exceptions.AlreadyExistsEntityException;
 import com.tenniscourts.exceptions.EntityNotFoundException;
+import com.tenniscourts.pricing.PricingEngine;
 import com.tenniscourts.reservations.ReservationStatus;
+import com.tenniscourts.tenniscourts.TennisCourt;
 import com.tenniscourts.tenniscourts.TennisCourtDTO;
 import com.tenniscourts.tenniscourts.TennisCourtMapper;
 import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
-import java.util.function.Predicate;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.persistence.EntityManager;
 import lombok.AllArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @AllArgsConstructor
 public class ScheduleService {
 
+    static final int MAX_TEMPLATE_SLOTS = 20_000;
+
+    static final int MAX_CONSECUTIVE_HOURS = 24;
+
+    static final Duration MAX_MATRIX_WINDOW = Duration.ofDays(31);
+
+    private static final LocalDateTime OPEN_END = LocalDateTime.of(9999, 12, 31, 23, 59);
+
     private final ScheduleRepository scheduleRepository;
 
     private final ScheduleMapper scheduleMapper;
@@ -27,6 +57,18 @@ public class ScheduleService {
 
     private final TennisCourtRepository tennisCourtRepository;
 
+    private final ScheduleAvailabilityIndex scheduleAvailabilityIndex;
+
+    private final ScheduleIntervalIndex scheduleIntervalIndex;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ScheduleCaches scheduleCaches;
+
+    private final PricingEngine pricingEngine;
+
     public ScheduleDTO addSchedule(Long tennisCourtId, CreateScheduleRequestDTO createScheduleRequestDTO) {
         if (isNull(createScheduleRequestDTO.getStartDateTime())) {
             throw new IllegalArgumentException("Start date and time is missing.");
@@ -34,40 +76,187 @@ public class ScheduleService {
         if (createScheduleRequestDTO.getStartDateTime().isBefore(LocalDateTime.now())) {
             throw new IllegalArgumentException("Cannot add schedule for past dates.");
         }
-        checkAlreadyScheduledSlot(tennisCourtId, createScheduleRequestDTO);
-        return scheduleMapper.map(scheduleRepository.save(scheduleNewSlot(tennisCourtId, createScheduleRequestDTO)));
+        Schedule schedule = scheduleIntervalIndex.withCourtLock(tennisCourtId, () -> {
+            checkAlreadyScheduledSlot(tennisCourtId, createScheduleRequestDTO);
+            Schedule saved = scheduleRepository.save(scheduleNewSlot(tennisCourtId, createScheduleRequestDTO));
+            scheduleIntervalIndex.add(tennisCourtId, saved.getStartDateTime(), saved.getEndDateTime());
+            return saved;
+        });
+        scheduleAvailabilityIndex.addSlot(schedule);
+        scheduleCaches.slotAdded(schedule);
+        return scheduleMapper.map(schedule);
+    }
+
+    /**
+     * Expands a recurring template into slots, skipping the ones in the past. Slots overlapping existing ones of the
+     * court are found in the {@link ScheduleIntervalIndex} and reported instead of created; the remaining slots are
+     * written with batched inserts.
+     */
+    public ScheduleTemplateResultDTO addScheduleTemplate(CreateScheduleTemplateRequestDTO templateDTO) {
+        List<Schedule> candidates = expandTemplate(templateDTO);
+        TennisCourt tennisCourt = tennisCourtRepository.findById(templateDTO.getTennisCourtId())
+                .orElseThrow(() -> new EntityNotFoundException(
+                        String.format("Tennis court not found for id %s", templateDTO.getTennisCourtId())));
+        candidates.forEach(schedule -> schedule.setTennisCourt(tennisCourt));
+
+        List<LocalDateTime> conflicts = new ArrayList<>();
+        List<Schedule> created = scheduleIntervalIndex.withCourtLock(tennisCourt.getId(), () -> {
+            List<Schedule> free = removeConflicts(tennisCourt.getId(), candidates, conflicts);
+            transactionTemplate.execute(status -> {
+                scheduleRepository.insertAll(free);
+                scheduleCaches.slotsAdded(tennisCourt.getId(), free);
+                return null;
+            });
+            free.forEach(schedule -> scheduleIntervalIndex.add(tennisCourt.getId(), schedule.getStartDateTime(),
+                    schedule.getEndDateTime()));
+            return free;
+        });
+        created.forEach(scheduleAvailabilityIndex::addSlot);
+        return ScheduleTemplateResultDTO.builder()
+                .tennisCourtId(tennisCourt.getId())
+                .created(created.size())
+                .conflicts(conflicts)
+                .build();
     }
 
     public List<ScheduleDTO> findSchedulesByDates(LocalDateTime startDate, LocalDateTime endDate) {
-        return scheduleMapper.map(
+        return scheduleCaches.schedulesByDates(startDate, endDate, () -> scheduleMapper.map(
                 scheduleRepository.findAllByStartDateTimeGreaterThanEqualAndEndDateTimeLessThanEqual(startDate,
-                        endDate));
+                        endDate)));
     }
 
     public List<ScheduleDTO> findAllSchedules() {
         return scheduleRepository.findAll().stream().map(scheduleMapper::map).collect(Collectors.toList());
     }
 
+    /**
+     * Maps schedules one by one from a database cursor, clearing the persistence context after each row so memory use
+     * does not depend on the number of schedules.
+     */
+    @Transactional(readOnly = true)
+    public void streamAllSchedules(Consumer<ScheduleDTO> consumer) {
+        try (Stream<Schedule> schedules = scheduleRepository.streamAll()) {
+            schedules.forEach(schedule -> {
+                consumer.accept(scheduleMapper.map(schedule));
+                entityManager.clear();
+            });
+        }
+    }
+
     public List<ScheduleDTO> findAvailableSchedulesByDates(LocalDateTime startDate, LocalDateTime endDate) {
-        return scheduleMapper.map(
-                scheduleRepository.findAllByStartDateTimeGreaterThanEqualAndEndDateTimeLessThanEqual(startDate,
-                        endDate).stream().filter(availableScheduleFilter()).collect(Collectors.toList()));
+        return scheduleCaches.availableSchedulesByDates(startDate, endDate, () -> toAvailableDTOs(
+                findAllByIdInOrder(scheduleAvailabilityIndex.findAvailableScheduleIds(startDate, endDate))));
+    }
+
+    public CursorPageDTO<ScheduleDTO> findSchedulesPage(String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        PageCursor.checkLimit(limit);
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        return toPage(isNull(after)
+                ? scheduleRepository.findPage(pageRequest)
+                : scheduleRepository.findPageAfter(after.getStartDateTime(), after.getId(), pageRequest), limit);
+    }
+
+    public CursorPageDTO<ScheduleDTO> findSchedulesPageByDates(LocalDateTime startDate, LocalDateTime endDate,
+            String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        PageCursor.checkLimit(limit);
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        return toPage(isNull(after)
+                ? scheduleRepository.findPageInInterval(startDate, endDate, pageRequest)
+                : scheduleRepository.findPageInIntervalAfter(startDate, endDate, after.getStartDateTime(),
+                        after.getId(), pageRequest), limit);
+    }
+
+    /**
+     * Pages through the free schedules in an interval, optionally only of some tennis courts. Booked slots are filtered
+     * out by the database, so the cost of a page depends on the free slots it returns.
+     */
+    public CursorPageDTO<ScheduleDTO> findAvailableSchedulesPageByDates(LocalDateTime startDate,
+            LocalDateTime endDate, List<Long> tennisCourtIds, String cursor, int limit) {
+        PageCursor after = PageCursor.decode(cursor);
+        PageCursor.checkLimit(limit);
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        if (isNull(tennisCourtIds) || tennisCourtIds.isEmpty()) {
+            return toAvailablePage(isNull(after)
+                    ? scheduleRepository.findAvailablePage(startDate, endDate, pageRequest)
+                    : scheduleRepository.findAvailablePageAfter(startDate, endDate, after.getStartDateTime(),
+                            after.getId(), pageRequest), limit);
+        }
+        return toAvailablePage(isNull(after)
+                ? scheduleRepository.findAvailablePageInTennisCourts(startDate, endDate, tennisCourtIds, pageRequest)
+                : scheduleRepository.findAvailablePageInTennisCourtsAfter(startDate, endDate, tennisCourtIds,
+                        after.getStartDateTime(), after.getId(), pageRequest), limit);
+    }
+
+    /**
+     * Earliest free slots on any court starting at or after {@code from} (now when missing or in the past), as a run of
+     * back-to-back slots on one court lasting at least {@code hours}.
+     */
+    public List<ScheduleDTO> findNextAvailableSchedules(LocalDateTime from, int hours) {
+        if (hours < 1 || hours > MAX_CONSECUTIVE_HOURS) {
+            throw new IllegalArgumentException(
+                    String.format("Hours must be between 1 and %s.", MAX_CONSECUTIVE_HOURS));
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> scheduleIds = scheduleAvailabilityIndex.findNextAvailableScheduleIds(
+                isNull(from) || from.isBefore(now) ? now : from, Duration.ofHours(hours));
+        if (scheduleIds.isEmpty()) {
+            throw new EntityNotFoundException("No available schedule found.");
+        }
+        return toAvailableDTOs(findAllByIdInOrder(scheduleIds));
     }
 
     public ScheduleDTO findSchedule(Long scheduleId) {
-        return scheduleRepository.findById(scheduleId).map(scheduleMapper::map)
+        return scheduleCaches.schedule(scheduleId, () -> scheduleRepository.findById(scheduleId)
+                .map(scheduleMapper::map)
                 .orElseThrow(() -> {
                     throw new EntityNotFoundException(String.format("Schedule not found for id %s", scheduleId));
-                });
+                }));
     }
 
-    public List<ScheduleDTO> findSchedulesByTennisCourtId(Long tennisCourtId) {
-        return scheduleMapper.map(scheduleRepository.findByTennisCourt_IdOrderByStartDateTime(tennisCourtId));
+    /**
+     * Pages through the slots of a court starting in {@code [startDate, endDate)}. Without a start date only upcoming
+     * slots are returned; without an end date the window is open.
+     */
+    public CursorPageDTO<ScheduleDTO> findSchedulesPageByTennisCourtId(Long tennisCourtId, LocalDateTime startDate,
+            LocalDateTime endDate, String cursor, int limit) {
+        LocalDateTime from = isNull(startDate) ? LocalDateTime.now() : startDate;
+        LocalDateTime to = isNull(endDate) ? OPEN_END : endDate;
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("End date must be after the start date.");
+        }
+        PageCursor after = PageCursor.decode(cursor);
+        PageCursor.checkLimit(limit);
+        PageRequest pageRequest = PageRequest.of(0, limit + 1);
+        return toPage(isNull(after)
+                ? scheduleRepository.findTennisCourtPage(tennisCourtId, from, to, pageRequest)
+                : scheduleRepository.findTennisCourtPageAfter(tennisCourtId, from, to, after.getStartDateTime(),
+                        after.getId(), pageRequest), limit);
+    }
+
+    /**
+     * Courts by slots grid of the slots starting in {@code [startDate, endDate)}, optionally restricted to some courts.
+     */
+    public ScheduleMatrixDTO findScheduleMatrix(LocalDateTime startDate, LocalDateTime endDate,
+            Collection<Long> tennisCourtIds) {
+        if (isNull(startDate) || isNull(endDate) || !endDate.isAfter(startDate)) {
+            throw new IllegalArgumentException("Start date and a later end date are required.");
+        }
+        if (Duration.between(startDate, endDate).compareTo(MAX_MATRIX_WINDOW) > 0) {
+            throw new IllegalArgumentException(
+                    String.format("The matrix window can span at most %s days.", MAX_MATRIX_WINDOW.toDays()));
+        }
+        Set<Long> courts = isNull(tennisCourtIds) || tennisCourtIds.isEmpty() ? null : new TreeSet<>(tennisCourtIds);
+        return scheduleCaches.scheduleMatrix(startDate, endDate, courts, () -> toMatrix(startDate, endDate,
+                isNull(courts)
+                        ? scheduleRepository.findMatrixCells(startDate, endDate)
+                        : scheduleRepository.findMatrixCellsInTennisCourts(startDate, endDate, courts)));
     }
 
     private void checkAlreadyScheduledSlot(Long tennisCourt, CreateScheduleRequestDTO createScheduleRequestDTO) {
-        if (scheduleRepository.findByTennisCourt_IdAndStartDateTime(tennisCourt,
-                createScheduleRequestDTO.getStartDateTime()).isPresent()) {
+        LocalDateTime startDateTime = createScheduleRequestDTO.getStartDateTime();
+        if (scheduleIntervalIndex.overlaps(tennisCourt, startDateTime, startDateTime.plusHours(1L))) {
             throw new AlreadyExistsEntityException("Slot is already scheduled for given interval");
         }
     }
@@ -85,12 +274,134 @@ public class ScheduleService {
                 .build();
     }
 
-    private Predicate<Schedule> availableScheduleFilter() {
-        return schedule -> {
-            boolean scheduleBooked = schedule.getReservations().stream()
-                    .anyMatch(
-                            reservation -> ReservationStatus.READY_TO_PLAY.equals(reservation.getReservationStatus()));
-            return !scheduleBooked;
-        };
+    private List<Schedule> expandTemplate(CreateScheduleTemplateRequestDTO templateDTO) {
+        if (isNull(templateDTO.getTennisCourtId()) || isNull(templateDTO.getDaysOfWeek())
+                || templateDTO.getDaysOfWeek().isEmpty() || isNull(templateDTO.getFirstSlotStart())
+                || isNull(templateDTO.getLastSlotEnd()) || isNull(templateDTO.getEndDate())) {
+            throw new IllegalArgumentException("Tennis court, days of week, daily times and end date are required.");
+        }
+        Duration slot = Duration.ofMinutes(isNull(templateDTO.getSlotMinutes()) ? 60 : templateDTO.getSlotMinutes());
+        if (slot.isNegative() || slot.isZero()) {
+            throw new IllegalArgumentException("Slot length must be positive.");
+        }
+        if (!templateDTO.getFirstSlotStart().plus(slot).isAfter(templateDTO.getFirstSlotStart())
+                || templateDTO.getFirstSlotStart().plus(slot).isAfter(templateDTO.getLastSlotEnd())) {
+            throw new IllegalArgumentException("At least one slot must fit between the daily start and end times.");
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate startDate = isNull(templateDTO.getStartDate()) ? now.toLocalDate() : templateDTO.getStartDate();
+        if (templateDTO.getEndDate().isBefore(startDate)) {
+            throw new IllegalArgumentException("End date cannot be before the start date.");
+        }
+
+        List<Schedule> schedules = new ArrayList<>();
+        for (LocalDate day = startDate; !day.isAfter(templateDTO.getEndDate()); day = day.plusDays(1)) {
+            if (!templateDTO.getDaysOfWeek().contains(day.getDayOfWeek())) {
+                continue;
+            }
+            LocalDateTime dayEnd = day.atTime(templateDTO.getLastSlotEnd());
+            for (LocalDateTime start = day.atTime(templateDTO.getFirstSlotStart());
+                    !start.plus(slot).isAfter(dayEnd); start = start.plus(slot)) {
+                if (start.isBefore(now)) {
+                    continue;
+                }
+                if (schedules.size() == MAX_TEMPLATE_SLOTS) {
+                    throw new IllegalArgumentException(
+                            String.format("A template can generate at most %s slots.", MAX_TEMPLATE_SLOTS));
+                }
+                schedules.add(Schedule.builder().startDateTime(start).endDateTime(start.plus(slot)).build());
+            }
+        }
+        return schedules;
+    }
+
+    private List<Schedule> removeConflicts(Long tennisCourtId, List<Schedule> candidates,
+            List<LocalDateTime> conflicts) {
+        List<Schedule> free = new ArrayList<>(candidates.size());
+        for (Schedule candidate : candidates) {
+            if (scheduleIntervalIndex.overlaps(tennisCourtId, candidate.getStartDateTime(),
+                    candidate.getEndDateTime())) {
+                conflicts.add(candidate.getStartDateTime());
+            } else {
+                free.add(candidate);
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Lays out cells sorted by court and start time: one column per distinct start time, one row per court.
+     */
+    private ScheduleMatrixDTO toMatrix(LocalDateTime startDate, LocalDateTime endDate,
+            List<ScheduleMatrixCell> cells) {
+        Map<LocalDateTime, Integer> columns = new TreeMap<>();
+        cells.forEach(cell -> columns.put(cell.getStartDateTime(), 0));
+        int column = 0;
+        for (Map.Entry<LocalDateTime, Integer> entry : columns.entrySet()) {
+            entry.setValue(column++);
+        }
+
+        List<ScheduleMatrixRowDTO> rows = new ArrayList<>();
+        for (int from = 0, to; from < cells.size(); from = to) {
+            Long tennisCourtId = cells.get(from).getTennisCourtId();
+            char[] statuses = new char[columns.size()];
+            Arrays.fill(statuses, ScheduleMatrixDTO.NO_SLOT);
+            Long[] scheduleIds = new Long[columns.size()];
+            BigDecimal[] prices = new BigDecimal[columns.size()];
+            for (to = from; to < cells.size() && tennisCourtId.equals(cells.get(to).getTennisCourtId()); to++) {
+                ScheduleMatrixCell cell = cells.get(to);
+                int index = columns.get(cell.getStartDateTime());
+                statuses[index] = isNull(cell.getReservationStatus()) ? ScheduleMatrixDTO.FREE
+                        : ReservationStatus.HELD.equals(cell.getReservationStatus()) ? ScheduleMatrixDTO.HELD
+                        : ScheduleMatrixDTO.BOOKED;
+                scheduleIds[index] = cell.getId();
+                prices[index] = isNull(cell.getValue())
+                        ? pricingEngine.price(tennisCourtId, cell.getStartDateTime()) : cell.getValue();
+            }
+            rows.add(ScheduleMatrixRowDTO.builder()
+                    .tennisCourtId(tennisCourtId)
+                    .statuses(new String(statuses))
+                    .scheduleIds(Collections.unmodifiableList(Arrays.asList(scheduleIds)))
+                    .prices(Collections.unmodifiableList(Arrays.asList(prices)))
+                    .build());
+        }
+        return ScheduleMatrixDTO.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .slotStartDateTimes(Collections.unmodifiableList(new ArrayList<>(columns.keySet())))
+                .tennisCourts(Collections.unmodifiableList(rows))
+                .build();
+    }
+
+    private CursorPageDTO<ScheduleDTO> toPage(List<Schedule> schedules, int limit) {
+        return CursorPageDTO.of(schedules, limit,
+                schedule -> new PageCursor(schedule.getStartDateTime(), schedule.getId()), scheduleMapper::map);
+    }
+
+    private CursorPageDTO<ScheduleDTO> toAvailablePage(List<Schedule> schedules, int limit) {
+        return CursorPageDTO.of(schedules, limit,
+                schedule -> new PageCursor(schedule.getStartDateTime(), schedule.getId()), this::toAvailableDTOs);
+    }
+
+    private List<ScheduleDTO> toAvailableDTOs(List<Schedule> schedules) {
+        return schedules.stream().map(this::toAvailableDTO).collect(Collectors.toList());
+    }
+
+    /**
+     * Maps a schedule offered for booking along with its price, which comes from memory.
+     */
+    private ScheduleDTO toAvailableDTO(Schedule schedule) {
+        ScheduleDTO scheduleDTO = scheduleMapper.map(schedule);
+        scheduleDTO.setPrice(pricingEngine.price(schedule.getTennisCourt().getId(), schedule.getStartDateTime()));
+        return scheduleDTO;
+    }
+
+    private List<Schedule> findAllByIdInOrder(List<Long> scheduleIds) {
+        if (scheduleIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Schedule> schedules = scheduleRepository.findAllById(scheduleIds).stream()
+                .collect(Collectors.toMap(Schedule::getId, Function.identity()));
+        return scheduleIds.stream().map(schedules::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 }
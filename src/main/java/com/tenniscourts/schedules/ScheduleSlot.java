@@ -0,0 +1,17 @@
+package com.tenniscourts.schedules;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight projection of a schedule row, without the tennis court and reservations graph.
+ */
+public interface ScheduleSlot {
+
+    Long getId();
+
+    Long getTennisCourtId();
+
+    LocalDateTime getStartDateTime();
+
+    LocalDateTime getEndDateTime();
+}
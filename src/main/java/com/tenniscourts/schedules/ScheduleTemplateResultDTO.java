@@ -0,0 +1,28 @@
+package com.tenniscourts.schedules;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+@Builder
+public class ScheduleTemplateResultDTO {
+
+    private Long tennisCourtId;
+
+    private int created;
+
+    /**
+     * Start of every generated slot that was skipped because it overlaps an existing one.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm")
+    private List<LocalDateTime> conflicts;
+}
@@ -1,14 +1,18 @@
 package com.tenniscourts.tenniscourts;
 
 import com.tenniscourts.config.BaseRestController;
+import com.tenniscourts.config.pagination.PageCursor;
 import io.swagger.annotations.ApiOperation;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -31,7 +35,13 @@ public class TennisCourtController extends BaseRestController {
     }
 
     @GetMapping("/{tennisCourtId}/schedules")
-    public ResponseEntity<TennisCourtDTO> findTennisCourtWithSchedulesById(@PathVariable Long tennisCourtId) {
-        return ResponseEntity.ok(tennisCourtService.findTennisCourtWithSchedulesById(tennisCourtId));
+    @ApiOperation(value = "Find a tennis court with a page of its schedules, upcoming ones unless a window is given")
+    public ResponseEntity<TennisCourtSchedulesDTO> findTennisCourtWithSchedulesById(@PathVariable Long tennisCourtId,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(pattern = "yyyy-MM-dd'T'HH:mm") LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = PageCursor.DEFAULT_LIMIT) int limit) {
+        return ResponseEntity.ok(tennisCourtService.findTennisCourtWithSchedulesById(tennisCourtId, startDate,
+                endDate, cursor, limit));
     }
 }
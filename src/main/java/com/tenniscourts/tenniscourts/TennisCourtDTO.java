@@ -1,7 +1,5 @@
 package com.tenniscourts.tenniscourts;
 
-import com.tenniscourts.schedules.ScheduleDTO;
-import java.util.List;
 import javax.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -21,6 +19,4 @@ public class TennisCourtDTO {
     @NotNull
     private String name;
 
-    private List<ScheduleDTO> tennisCourtSchedules;
-
 }
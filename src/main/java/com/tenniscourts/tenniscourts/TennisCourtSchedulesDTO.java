@@ -0,0 +1,28 @@
+package com.tenniscourts.tenniscourts;
+
+import com.tenniscourts.schedules.ScheduleDTO;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * A tennis court with one page of its schedules.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TennisCourtSchedulesDTO {
+
+    private Long id;
+
+    private String name;
+
+    private List<ScheduleDTO> tennisCourtSchedules;
+
+    private String nextCursor;
+}
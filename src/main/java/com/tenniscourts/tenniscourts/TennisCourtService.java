@@ -1,7 +1,10 @@
 package com.tenniscourts.tenniscourts;
 
+import com.tenniscourts.config.pagination.CursorPageDTO;
 import com.tenniscourts.exceptions.EntityNotFoundException;
+import com.tenniscourts.schedules.ScheduleDTO;
 import com.tenniscourts.schedules.ScheduleService;
+import java.time.LocalDateTime;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -25,9 +28,16 @@ public class TennisCourtService {
         });
     }
 
-    public TennisCourtDTO findTennisCourtWithSchedulesById(Long tennisCourtId) {
+    public TennisCourtSchedulesDTO findTennisCourtWithSchedulesById(Long tennisCourtId, LocalDateTime startDate,
+            LocalDateTime endDate, String cursor, int limit) {
         TennisCourtDTO tennisCourtDTO = findTennisCourtById(tennisCourtId);
-        tennisCourtDTO.setTennisCourtSchedules(scheduleService.findSchedulesByTennisCourtId(tennisCourtId));
-        return tennisCourtDTO;
+        CursorPageDTO<ScheduleDTO> schedules = scheduleService.findSchedulesPageByTennisCourtId(tennisCourtId,
+                startDate, endDate, cursor, limit);
+        return TennisCourtSchedulesDTO.builder()
+                .id(tennisCourtDTO.getId())
+                .name(tennisCourtDTO.getName())
+                .tennisCourtSchedules(schedules.getItems())
+                .nextCursor(schedules.getNextCursor())
+                .build();
     }
 }
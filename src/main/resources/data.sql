@@ -24,11 +24,21 @@ into schedule
     (id, start_date_time, end_date_time, tennis_court_id)
 values (null, '2020-12-20T20:00:00.0', '2020-02-20T21:00:00.0', 1);
 
-insert into reservation (id, value, reservation_status, refund_value, guest_id, schedule_id)
-values (null, 10, 0, 10, 1, 2);
+insert into reservation (id, value, reservation_status, refund_value, guest_id, schedule_id, active_schedule_id)
+values (null, 10, 0, 10, 1, 2, 2);
 
 insert into reservation (id, value, reservation_status, refund_value, guest_id, schedule_id)
 values (null, 10, 1, 10, 1, 2);
 
 insert into reservation (id, value, reservation_status, refund_value, guest_id, schedule_id)
-values (null, 10, 2, 10, 1, 2);
\ No newline at end of file
+values (null, 10, 2, 10, 1, 2);
+
+-- refund policy applying to every court, guest class and season
+insert into refund_policy_tier (id, min_hours_before, refund_rate)
+values (null, 24, 1);
+insert into refund_policy_tier (id, min_hours_before, refund_rate)
+values (null, 12, 0.75);
+insert into refund_policy_tier (id, min_hours_before, refund_rate)
+values (null, 2, 0.5);
+insert into refund_policy_tier (id, min_hours_before, refund_rate)
+values (null, 0, 0.25);
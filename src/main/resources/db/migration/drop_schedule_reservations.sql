@@ -0,0 +1,15 @@
+-- Migrates a database created before Schedule.reservations was mapped by reservation.schedule_id.
+-- Until then Hibernate kept every link twice: in reservation.schedule_id and in the schedule_reservations join table.
+-- Run once before starting the new version against a database that is not recreated on startup.
+
+-- 1. Recover links that only the join table knows about.
+update reservation r
+set schedule_id = (select sr.schedule_id from schedule_reservations sr where sr.reservations_id = r.id)
+where r.schedule_id is null
+  and exists (select 1 from schedule_reservations sr where sr.reservations_id = r.id);
+
+-- 2. Index the foreign key the association is now read through.
+create index if not exists idx_reservation_schedule_id on reservation (schedule_id);
+
+-- 3. Drop the redundant join table.
+drop table if exists schedule_reservations;
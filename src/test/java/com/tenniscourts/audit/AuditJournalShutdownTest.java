@@ -0,0 +1,34 @@
+package com.tenniscourts.audit;
+
+import com.tenniscourts.TennisCourtApplication;
+import com.tenniscourts.guests.Guest;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+public class AuditJournalShutdownTest {
+
+    @Test
+    @DisplayName("when the application shuts down then buffered entries are written before the schema is dropped")
+    public void whenApplicationShutsDownThenBufferedEntriesAreWritten() {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(TennisCourtApplication.class)
+                .web(WebApplicationType.NONE)
+                // A database of its own, so dropping its schema on close does not affect the contexts of other tests
+                .properties("spring.datasource.url=jdbc:h2:mem:audit-journal-shutdown",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "tenniscourts.audit.journal.flush-interval=1s")
+                .run();
+        AuditJournal auditJournal = context.getBean(AuditJournal.class);
+        Guest guest = new Guest();
+        guest.setId(1L);
+
+        auditJournal.record(guest, AuditAction.UPDATE);
+        context.close();
+
+        Assert.assertEquals(1, auditJournal.getWritten());
+        Assert.assertEquals(0, auditJournal.getDropped());
+    }
+}
@@ -0,0 +1,146 @@
+package com.tenniscourts.audit;
+
+import static com.tenniscourts.utils.Constants.HOST;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+import com.tenniscourts.guests.GuestDTO;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.reservations.Reservation;
+import com.tenniscourts.reservations.ReservationDTO;
+import com.tenniscourts.reservations.ReservationRepository;
+import com.tenniscourts.reservations.ReservationService;
+import com.tenniscourts.schedules.CreateScheduleRequestDTO;
+import com.tenniscourts.schedules.ScheduleService;
+import com.tenniscourts.utils.BaseTestConfig;
+import io.restassured.http.ContentType;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import javax.annotation.PostConstruct;
+import org.apache.http.HttpStatus;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+
+@DirtiesContext
+public class AuditJournalTest extends BaseTestConfig {
+
+    @Autowired
+    AuditJournal auditJournal;
+
+    @Autowired
+    ScheduleService scheduleService;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @PostConstruct
+    public void init() {
+        uri = HOST + port;
+        basePath = "/audit-journal";
+    }
+
+    @Test
+    @DisplayName("when a reservation is booked and cancelled then both states are kept in the journal")
+    public void whenReservationIsBookedAndCancelledThenHistoryIsJournaled() {
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS));
+        Long scheduleId = scheduleService.addSchedule(1L, createScheduleRequestDTO).getId();
+        ReservationDTO reservation = reservationService.bookReservation(
+                CreateReservationRequestDTO.builder().guestId(1L).scheduleId(scheduleId).build());
+        reservationService.cancelReservation(reservation.getId());
+
+        auditJournal.flush();
+
+        given()
+                .queryParam("entityType", "Reservation")
+                .queryParam("entityId", reservation.getId())
+                .when()
+                .get(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("size()", is(2))
+                .body("[0].action", is(AuditAction.CREATE.toString()))
+                .body("[0].details", containsString("reservationStatus=READY_TO_PLAY"))
+                .body("[1].action", is(AuditAction.UPDATE.toString()))
+                .body("[1].details", containsString("reservationStatus=CANCELLED"));
+    }
+
+    @Test
+    @DisplayName("when a guest is added with a user header then the caller is journaled")
+    public void whenGuestIsAddedWithUserHeaderThenCallerIsJournaled() {
+        Integer guestId = given()
+                .contentType(ContentType.JSON)
+                .header(AuditContextFilter.USER_ID_HEADER, "7")
+                .body(GuestDTO.builder().name("Journaled Guest").build())
+                .when()
+                .post(uri + "/guests")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .extract()
+                .path("id");
+
+        auditJournal.flush();
+
+        given()
+                .queryParam("entityType", "Guest")
+                .queryParam("entityId", guestId)
+                .when()
+                .get(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("size()", is(1))
+                .body("[0].userId", is(7))
+                .body("[0].action", is(AuditAction.CREATE.toString()));
+    }
+
+    @Test
+    @DisplayName("when a reservation is cancelled by another user then the canceller is recorded as updater")
+    public void whenReservationIsCancelledByAnotherUserThenCancellerIsRecorded() {
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(LocalDateTime.now().plusYears(1).plusDays(1)
+                .truncatedTo(ChronoUnit.HOURS));
+        Long scheduleId = scheduleService.addSchedule(1L, createScheduleRequestDTO).getId();
+        String location = given()
+                .contentType(ContentType.JSON)
+                .header(AuditContextFilter.USER_ID_HEADER, "7")
+                .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(scheduleId).build())
+                .when()
+                .post(uri + "/reservations")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .header("Location");
+        Long reservationId = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+
+        given()
+                .header(AuditContextFilter.USER_ID_HEADER, "9")
+                .when()
+                .delete(uri + "/reservations/" + reservationId)
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+
+        Reservation reservation = reservationRepository.findById(reservationId).get();
+        Assert.assertEquals(Long.valueOf(7), reservation.getUserCreate());
+        Assert.assertEquals(Long.valueOf(9), reservation.getUserUpdate());
+    }
+
+    @Test
+    @DisplayName("when the journal is read without an entity type then bad request is returned")
+    public void whenJournalIsReadWithoutEntityTypeThenBadRequestIsReturned() {
+        given()
+                .queryParam("entityType", " ")
+                .when()
+                .get(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+}
@@ -0,0 +1,86 @@
+package com.tenniscourts.audit;
+
+import com.tenniscourts.guests.Guest;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class CustomAuditEntityListenerTest {
+
+    private final CustomAuditEntityListener listener = new CustomAuditEntityListener();
+
+    @After
+    public void tearDown() {
+        AuditContextHolder.clear();
+    }
+
+    @Test
+    @DisplayName("Outside of a request the system user and the host address are recorded")
+    public void whenNoAuditContextThenSystemUserAndHostAddressAreRecorded() {
+        Guest guest = new Guest();
+
+        listener.prePersist(guest);
+
+        Assert.assertEquals(CustomAuditEntityListener.USER_SYSTEM_ID, guest.getUserCreate());
+        Assert.assertEquals(CustomAuditEntityListener.USER_SYSTEM_ID, guest.getUserUpdate());
+        Assert.assertNotNull(guest.getIpNumberCreate());
+        Assert.assertEquals(guest.getIpNumberCreate(), guest.getIpNumberUpdate());
+        Assert.assertEquals(guest.getDateCreate(), guest.getDateUpdate());
+    }
+
+    @Test
+    @DisplayName("The caller set up by the filter is recorded on persist and update, ignoring forwarded headers")
+    public void whenFilterSetsAuditContextThenCallerIsRecorded() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AuditContextFilter.USER_ID_HEADER, "7");
+        request.setRemoteAddr("203.0.113.7");
+        request.addHeader("X-Forwarded-For", "192.0.2.1");
+        Guest guest = new Guest();
+
+        new AuditContextFilter().doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                listener.prePersist(guest);
+                listener.preUpdate(guest);
+            }
+        });
+
+        Assert.assertEquals(Long.valueOf(7), guest.getUserCreate());
+        Assert.assertEquals(Long.valueOf(7), guest.getUserUpdate());
+        Assert.assertEquals("203.0.113.7", guest.getIpNumberCreate());
+        Assert.assertEquals("203.0.113.7", guest.getIpNumberUpdate());
+        Assert.assertNull(AuditContextHolder.get());
+    }
+
+    @Test
+    @DisplayName("An update by another caller overwrites the update columns and keeps the create columns")
+    public void whenAnotherCallerUpdatesThenUpdateColumnsAreOverwritten() throws Exception {
+        Guest guest = new Guest();
+
+        inRequest("7", "203.0.113.7", () -> listener.prePersist(guest));
+        inRequest("9", "198.51.100.9", () -> listener.preUpdate(guest));
+
+        Assert.assertEquals(Long.valueOf(7), guest.getUserCreate());
+        Assert.assertEquals("203.0.113.7", guest.getIpNumberCreate());
+        Assert.assertEquals(Long.valueOf(9), guest.getUserUpdate());
+        Assert.assertEquals("198.51.100.9", guest.getIpNumberUpdate());
+    }
+
+    private static void inRequest(String userId, String remoteAddr, Runnable callback) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader(AuditContextFilter.USER_ID_HEADER, userId);
+        request.setRemoteAddr(remoteAddr);
+        new AuditContextFilter().doFilter(request, new MockHttpServletResponse(), new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest request, ServletResponse response) {
+                callback.run();
+            }
+        });
+    }
+}
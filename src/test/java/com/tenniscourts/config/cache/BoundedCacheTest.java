@@ -0,0 +1,93 @@
+package com.tenniscourts.config.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class BoundedCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private final BoundedCache<Integer, String> cache = new BoundedCache<>("test", 2, 100, now::get);
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("Values are loaded once and then served from the cache")
+    public void readThrough() {
+        Assert.assertEquals("1", get(1));
+        Assert.assertEquals("1", get(1));
+
+        Assert.assertEquals(1, loads.get());
+        Assert.assertEquals(1, cache.stats().getHits());
+        Assert.assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    @DisplayName("The least recently used entry is evicted first and entries expire after the TTL")
+    public void eviction() {
+        get(1);
+        get(2);
+        get(1);
+        get(3);
+        Assert.assertEquals(3, loads.get());
+        get(1);
+        Assert.assertEquals(3, loads.get());
+        get(2);
+        Assert.assertEquals(4, loads.get());
+
+        now.addAndGet(100);
+        get(2);
+        Assert.assertEquals(5, loads.get());
+        Assert.assertEquals(3, cache.stats().getEvictions());
+    }
+
+    @Test
+    @DisplayName("A value loaded while an invalidation happens is not cached")
+    public void invalidationDuringLoad() {
+        cache.get(1, () -> {
+            cache.invalidate(1);
+            return "stale";
+        });
+
+        Assert.assertEquals("1", get(1));
+    }
+
+    @Test
+    @DisplayName("Keys invalidated in a transaction bypass the cache until it completes")
+    public void invalidationInTransaction() {
+        get(1);
+        TransactionSynchronizationManager.initSynchronization();
+        cache.invalidate(1);
+
+        get(1);
+        get(1);
+        Assert.assertEquals(3, loads.get());
+        Assert.assertEquals(0, cache.size());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(
+                synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        get(1);
+        get(1);
+        Assert.assertEquals(4, loads.get());
+    }
+
+    private String get(int key) {
+        return cache.get(key, () -> {
+            loads.incrementAndGet();
+            return String.valueOf(key);
+        });
+    }
+}
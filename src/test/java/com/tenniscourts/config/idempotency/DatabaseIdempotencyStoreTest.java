@@ -0,0 +1,71 @@
+package com.tenniscourts.config.idempotency;
+
+import static com.tenniscourts.utils.Constants.HOST;
+import static io.restassured.RestAssured.given;
+
+import com.tenniscourts.schedules.CreateScheduleRequestDTO;
+import com.tenniscourts.utils.BaseTestConfig;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.parsing.Parser;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import javax.annotation.PostConstruct;
+import org.apache.http.HttpStatus;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+@DirtiesContext
+// A database of its own, so dropping its schema on close does not affect the contexts of the other tests
+@TestPropertySource(properties = {"tenniscourts.idempotency.store=DATABASE",
+        "spring.datasource.url=jdbc:h2:mem:idempotency-store"})
+public class DatabaseIdempotencyStoreTest extends BaseTestConfig {
+
+    @Autowired
+    IdempotencyStore idempotencyStore;
+
+    @Autowired
+    IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @PostConstruct
+    public void init() {
+        uri = HOST + port;
+        basePath = "/schedules";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    @Test
+    @DisplayName("when post with an idempotency key then the response is stored in the database and replayed from it")
+    public void whenPostWithKeyThenResponseIsStoredInDatabaseAndReplayed() {
+        Assert.assertTrue(idempotencyStore instanceof DatabaseIdempotencyStore);
+        String idempotencyKey = UUID.randomUUID().toString();
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(LocalDateTime.now().plusYears(6).truncatedTo(ChronoUnit.HOURS));
+
+        for (int i = 0; i < 2; i++) {
+            String replayed = given()
+                    .contentType(ContentType.JSON)
+                    .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                    .body(createScheduleRequestDTO)
+                    .when()
+                    .post(uri + basePath)
+                    .then()
+                    .statusCode(HttpStatus.SC_CREATED)
+                    .extract()
+                    .header(IdempotencyFilter.REPLAYED_HEADER);
+            Assert.assertEquals(i == 0 ? null : "true", replayed);
+        }
+
+        Assert.assertEquals(1, idempotencyRecordRepository.count());
+        IdempotencyRecord record = idempotencyRecordRepository.findAll().get(0);
+        Assert.assertTrue(record.getIdempotencyKey().endsWith(idempotencyKey));
+        Assert.assertEquals(HttpStatus.SC_CREATED, record.getStatus().intValue());
+        Assert.assertTrue(record.getHeaders().startsWith("Location: "));
+    }
+}
@@ -0,0 +1,170 @@
+package com.tenniscourts.config.idempotency;
+
+import static com.tenniscourts.utils.Constants.HOST;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.schedules.CreateScheduleRequestDTO;
+import com.tenniscourts.utils.BaseTestConfig;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.servlet.FilterChain;
+import org.apache.http.HttpStatus;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mockito;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.MethodMode;
+
+@DirtiesContext
+public class IdempotencyFilterTest extends BaseTestConfig {
+
+    private static final int DUPLICATES = 16;
+
+    @PostConstruct
+    public void init() {
+        uri = HOST + port;
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    @Test
+    @DisplayName("when a duplicate claims the key just after the first request stored its response then it is replayed")
+    public void whenDuplicateClaimsKeyAfterResponseIsStoredThenResponseIsReplayed() throws Exception {
+        byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+        IdempotentResponse stored = new IdempotentResponse(IdempotencyFilter.fingerprint(body), HttpStatus.SC_CREATED,
+                Collections.emptyMap(), new byte[0], LocalDateTime.now().plusHours(1));
+        IdempotencyStore idempotencyStore = Mockito.mock(IdempotencyStore.class);
+        // Nothing stored at the first lookup, stored by the time the key is claimed
+        Mockito.when(idempotencyStore.find(Mockito.anyString()))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(stored));
+        IdempotencyFilter filter = new IdempotencyFilter(idempotencyStore, new IdempotencyProperties(),
+                new ObjectMapper(), Clock.systemDefaultZone());
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/reservations");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, UUID.randomUUID().toString());
+        request.setContent(body);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain filterChain = Mockito.mock(FilterChain.class);
+
+        filter.doFilter(request, response, filterChain);
+
+        Mockito.verifyNoInteractions(filterChain);
+        Assert.assertEquals(HttpStatus.SC_CREATED, response.getStatus());
+        Assert.assertEquals("true", response.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when post a schedule twice with one idempotency key then the first response is replayed")
+    public void whenPostScheduleTwiceWithOneKeyThenFirstResponseIsReplayed() {
+        String idempotencyKey = UUID.randomUUID().toString();
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(LocalDateTime.now().plusYears(5).truncatedTo(ChronoUnit.HOURS));
+
+        Response first = postSchedule(idempotencyKey, createScheduleRequestDTO);
+        first.then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .header(IdempotencyFilter.REPLAYED_HEADER, nullValue());
+        postSchedule(idempotencyKey, createScheduleRequestDTO).then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .header("Location", is(first.header("Location")))
+                .header(IdempotencyFilter.REPLAYED_HEADER, is("true"));
+        postSchedule(UUID.randomUUID().toString(), createScheduleRequestDTO).then()
+                .statusCode(HttpStatus.SC_CONFLICT);
+    }
+
+    @Test
+    @DisplayName("when reuse an idempotency key for another request then unprocessable entity is returned")
+    public void whenReuseKeyForAnotherRequestThenUnprocessableEntityIsReturned() {
+        String idempotencyKey = UUID.randomUUID().toString();
+        postReservation(idempotencyKey, CreateReservationRequestDTO.builder().guestId(1L).scheduleId(99L).build())
+                .then()
+                .statusCode(HttpStatus.SC_NOT_FOUND);
+        postReservation(idempotencyKey, CreateReservationRequestDTO.builder().guestId(2L).scheduleId(99L).build())
+                .then()
+                .statusCode(HttpStatus.SC_UNPROCESSABLE_ENTITY);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when concurrent duplicates of a booking arrive then one books and all get its response")
+    public void whenConcurrentDuplicatesOfBookingArriveThenOneBooksAndAllGetItsResponse() throws Exception {
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(LocalDateTime.now().plusYears(5).truncatedTo(ChronoUnit.HOURS));
+        String schedule = postSchedule(UUID.randomUUID().toString(), createScheduleRequestDTO).header("Location");
+        CreateReservationRequestDTO createReservationRequestDTO = CreateReservationRequestDTO.builder()
+                .guestId(1L)
+                .scheduleId(Long.valueOf(schedule.substring(schedule.lastIndexOf('/') + 1)))
+                .build();
+
+        String idempotencyKey = UUID.randomUUID().toString();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(DUPLICATES);
+        List<Future<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < DUPLICATES; i++) {
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                return postReservation(idempotencyKey, createReservationRequestDTO);
+            }));
+        }
+        startGate.countDown();
+        List<String> locations = new ArrayList<>();
+        for (Future<Response> future : futures) {
+            Response response = future.get(1, TimeUnit.MINUTES);
+            Assert.assertEquals(HttpStatus.SC_CREATED, response.statusCode());
+            locations.add(response.header("Location"));
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(1, locations.stream().distinct().count());
+        given()
+                .when()
+                .get(locations.get(0))
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("schedule.id", is(createReservationRequestDTO.getScheduleId().intValue()));
+    }
+
+    private Response postSchedule(String idempotencyKey, CreateScheduleRequestDTO createScheduleRequestDTO) {
+        return given()
+                .contentType(ContentType.JSON)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + "/schedules");
+    }
+
+    private Response postReservation(String idempotencyKey, CreateReservationRequestDTO createReservationRequestDTO) {
+        return given()
+                .contentType(ContentType.JSON)
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, idempotencyKey)
+                .body(createReservationRequestDTO)
+                .when()
+                .post(uri + "/reservations");
+    }
+}
@@ -0,0 +1,72 @@
+package com.tenniscourts.pricing;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+
+public class PricingEngineTest {
+
+    private static final LocalDateTime MONDAY = LocalDateTime.of(2030, 1, 7, 0, 0);
+
+    private final PricingRuleRepository repository = Mockito.mock(PricingRuleRepository.class);
+
+    private final ApplicationEventPublisher eventPublisher = Mockito.mock(ApplicationEventPublisher.class);
+
+    private final PricingEngine engine = new PricingEngine(repository, eventPublisher);
+
+    @Test
+    @DisplayName("The most specific rule wins: court, then day, then hours, then the latest rule")
+    public void mostSpecificRuleWins() {
+        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(
+                rule(5L, null, null, null, null, "12"),
+                rule(4L, null, null, 18, 22, "15"),
+                rule(3L, null, DayOfWeek.SATURDAY, null, null, "14"),
+                rule(2L, 2L, null, 18, 22, "30"),
+                rule(6L, null, null, 18, 22, "16")));
+        engine.reload();
+
+        assertPrice("12", 1L, MONDAY.withHour(9));
+        assertPrice("16", 1L, MONDAY.withHour(21));
+        assertPrice("12", 1L, MONDAY.withHour(22));
+        assertPrice("14", 1L, MONDAY.plusDays(5).withHour(20));
+        assertPrice("30", 2L, MONDAY.plusDays(5).withHour(20));
+        assertPrice("14", 2L, MONDAY.plusDays(5).withHour(9));
+        Mockito.verify(eventPublisher).publishEvent(Mockito.any(PricesChangedEvent.class));
+    }
+
+    @Test
+    @DisplayName("Hours no rule covers cost the base price")
+    public void uncoveredHoursCostTheBasePrice() {
+        assertPrice("10", 1L, MONDAY);
+
+        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(rule(1L, 1L, DayOfWeek.MONDAY, 0, 6, "5")));
+        engine.reload();
+
+        assertPrice("5", 1L, MONDAY.withHour(5));
+        assertPrice("10", 1L, MONDAY.withHour(6));
+        assertPrice("10", 2L, MONDAY.withHour(5));
+    }
+
+    private void assertPrice(String expected, Long tennisCourtId, LocalDateTime startDateTime) {
+        Assert.assertEquals(new BigDecimal(expected), engine.price(tennisCourtId, startDateTime));
+    }
+
+    private static PricingRule rule(Long id, Long tennisCourtId, DayOfWeek dayOfWeek, Integer startHour,
+            Integer endHour, String price) {
+        PricingRule rule = PricingRule.builder()
+                .tennisCourtId(tennisCourtId)
+                .dayOfWeek(dayOfWeek)
+                .startHour(startHour)
+                .endHour(endHour)
+                .price(new BigDecimal(price))
+                .build();
+        rule.setId(id);
+        return rule;
+    }
+}
@@ -0,0 +1,144 @@
+package com.tenniscourts.pricing;
+
+import static com.tenniscourts.utils.Constants.HOST;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
+import com.tenniscourts.schedules.CreateScheduleRequestDTO;
+import com.tenniscourts.schedules.ScheduleFilterDTO;
+import com.tenniscourts.utils.BaseTestConfig;
+import io.restassured.RestAssured;
+import io.restassured.http.ContentType;
+import io.restassured.parsing.Parser;
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import javax.annotation.PostConstruct;
+import org.apache.http.HttpStatus;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.MethodMode;
+
+public class PricingRuleControllerTest extends BaseTestConfig {
+
+    @PostConstruct
+    public void init() {
+        uri = HOST + port;
+        basePath = "/pricing-rules";
+        RestAssured.defaultParser = Parser.JSON;
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when add a peak pricing rule then available slots and bookings get its price until it is deleted")
+    public void whenAddPeakPricingRuleThenAvailableSlotsAndBookingsGetItsPrice() {
+        LocalDate saturday = LocalDate.now().plusYears(4).with(TemporalAdjusters.next(DayOfWeek.SATURDAY));
+        Long offPeak = addFutureSchedule(saturday.atTime(10, 0));
+        Long peak = addFutureSchedule(saturday.atTime(18, 0));
+        ScheduleFilterDTO scheduleFilterDTO = new ScheduleFilterDTO();
+        scheduleFilterDTO.setStartDate(saturday.atStartOfDay());
+        scheduleFilterDTO.setEndDate(saturday.plusDays(1).atStartOfDay());
+        findAvailableSchedules(scheduleFilterDTO, 10, 10);
+
+        Integer pricingRuleId = given()
+                .contentType(ContentType.JSON)
+                .body(PricingRuleDTO.builder()
+                        .tennisCourtId(1L)
+                        .dayOfWeek(DayOfWeek.SATURDAY)
+                        .startHour(17)
+                        .endHour(21)
+                        .price(new BigDecimal(25))
+                        .build())
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("id", notNullValue())
+                .extract()
+                .path("id");
+        findAvailableSchedules(scheduleFilterDTO, 10, 25);
+        given()
+                .when()
+                .queryParam("startDate", saturday.atStartOfDay().toString())
+                .queryParam("endDate", saturday.plusDays(1).atStartOfDay().toString())
+                .get(uri + "/schedules/matrix")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("tennisCourts[0].prices", contains(10, 25));
+        given()
+                .when()
+                .get(bookReservation(1L, peak))
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("value", is(25.0f));
+
+        given()
+                .when()
+                .delete(uri + basePath + "/" + pricingRuleId)
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        given()
+                .when()
+                .get(bookReservation(2L, offPeak))
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("value", is(10.0f));
+    }
+
+    @Test
+    @DisplayName("when add a pricing rule with an empty hour range then bad request is returned")
+    public void whenAddPricingRuleWithEmptyHourRangeThenBadRequestIsReturned() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(PricingRuleDTO.builder().startHour(20).endHour(18).price(new BigDecimal(25)).build())
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    private void findAvailableSchedules(ScheduleFilterDTO scheduleFilterDTO, Integer... prices) {
+        given()
+                .contentType(ContentType.JSON)
+                .body(scheduleFilterDTO)
+                .when()
+                .post(uri + "/schedules/filter/available")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("price", contains(prices));
+    }
+
+    private String bookReservation(Long guestId, Long scheduleId) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(guestId).scheduleId(scheduleId).build())
+                .when()
+                .post(uri + "/reservations")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .header("Location");
+    }
+
+    private Long addFutureSchedule(LocalDateTime startDateTime) {
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(startDateTime);
+        String location = given()
+                .contentType(ContentType.JSON)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + "/schedules")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .header("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+    }
+}
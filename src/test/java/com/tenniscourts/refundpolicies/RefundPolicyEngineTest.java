@@ -0,0 +1,93 @@
+package com.tenniscourts.refundpolicies;
+
+import com.tenniscourts.guests.GuestClass;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mockito;
+
+public class RefundPolicyEngineTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Paris");
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 3, 30, 12, 0);
+
+    private static final Clock CLOCK = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+
+    private static final BigDecimal VALUE = new BigDecimal(10);
+
+    private final RefundPolicyTierRepository repository = Mockito.mock(RefundPolicyTierRepository.class);
+
+    private final RefundPolicyEngine engine = new RefundPolicyEngine(repository, CLOCK);
+
+    @Test
+    @DisplayName("Default tiers apply until tiers are loaded and when there are none")
+    public void defaultTiers() {
+        assertRefund("10", null, null, NOW.plusHours(24));
+        assertRefund("7.50", null, null, NOW.plusHours(23));
+        assertRefund("5.0", null, null, NOW.plusHours(2));
+        assertRefund("2.50", null, null, NOW.plusMinutes(1));
+        assertRefund("0", null, null, NOW.minusMinutes(1));
+
+        Mockito.when(repository.findAll()).thenReturn(Collections.emptyList());
+        engine.reload();
+
+        assertRefund("7.50", 1L, GuestClass.VIP, NOW.plusHours(12));
+    }
+
+    @Test
+    @DisplayName("The most specific tiers win: court, then guest class, then season")
+    public void mostSpecificTiersWin() {
+        Mockito.when(repository.findAll()).thenReturn(Arrays.asList(
+                tier(null, null, null, null, 0, "0.5000"),
+                tier(null, null, Month.NOVEMBER, Month.FEBRUARY, 0, "0.2500"),
+                tier(null, GuestClass.MEMBER, null, null, 0, "1.0000"),
+                tier(2L, null, null, null, 48, "0.9000")));
+        engine.reload();
+
+        assertRefund("5.0", 1L, null, NOW.plusHours(1));
+        assertRefund("2.50", 1L, GuestClass.STANDARD, LocalDateTime.of(2031, 1, 10, 10, 0));
+        assertRefund("10", 1L, GuestClass.MEMBER, LocalDateTime.of(2031, 1, 10, 10, 0));
+        assertRefund("9.0", 2L, GuestClass.MEMBER, NOW.plusDays(3));
+        assertRefund("0", 2L, GuestClass.MEMBER, NOW.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Hours are counted from the local time of the clock's zone")
+    public void hoursFollowTheClockZone() {
+        assertRefund("7.50", null, null, NOW.plusHours(24).minusMinutes(30));
+        assertRefund("10", null, null, NOW.plusHours(24));
+    }
+
+    @Test
+    @DisplayName("A start less than a tier's hours ahead stays out of it within the same millisecond")
+    public void hoursAreCountedBelowTheMillisecond() {
+        Clock clock = Clock.fixed(NOW.plusNanos(500_000).atZone(ZONE).toInstant(), ZONE);
+
+        Assert.assertEquals(new BigDecimal("2.50"), new RefundPolicyEngine(repository, clock)
+                .refundValue(null, null, NOW.plusHours(2).plusNanos(100_000), VALUE));
+    }
+
+    private void assertRefund(String expected, Long tennisCourtId, GuestClass guestClass, LocalDateTime start) {
+        Assert.assertEquals(new BigDecimal(expected), engine.refundValue(tennisCourtId, guestClass, start, VALUE));
+    }
+
+    private static RefundPolicyTier tier(Long tennisCourtId, GuestClass guestClass, Month seasonStart,
+            Month seasonEnd, int minHoursBefore, String refundRate) {
+        return RefundPolicyTier.builder()
+                .tennisCourtId(tennisCourtId)
+                .guestClass(guestClass)
+                .seasonStart(seasonStart)
+                .seasonEnd(seasonEnd)
+                .minHoursBefore(minHoursBefore)
+                .refundRate(new BigDecimal(refundRate))
+                .build();
+    }
+}
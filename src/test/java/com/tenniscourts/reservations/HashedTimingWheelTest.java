@@ -0,0 +1,58 @@
+package com.tenniscourts.reservations;
+
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+
+public class HashedTimingWheelTest {
+
+    private static final long TICK = 100;
+
+    @Test
+    @DisplayName("Timeouts fire on the first tick at or after their deadline, across rotations")
+    public void timeoutsFireAtTheirDeadline() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 4, 0);
+        wheel.schedule("soon", 150);
+        wheel.schedule("next rotation", 650);
+        wheel.schedule("overdue", -50);
+
+        Assert.assertEquals(Collections.singletonList("overdue"), wheel.advance(99));
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(199));
+        Assert.assertEquals(Collections.singletonList("soon"), wheel.advance(200));
+        Assert.assertEquals(Collections.emptyList(), wheel.advance(699));
+        Assert.assertEquals(Collections.singletonList("next rotation"), wheel.advance(700));
+    }
+
+    @Test
+    @DisplayName("Cancelled timeouts never fire")
+    public void cancelledTimeoutsDoNotFire() {
+        HashedTimingWheel<String> wheel = new HashedTimingWheel<>(TICK, 8, 0);
+        HashedTimingWheel.Timeout<String> cancelledBeforeTransfer = wheel.schedule("a", 100);
+        wheel.schedule("b", 100);
+        HashedTimingWheel.Timeout<String> cancelledInBucket = wheel.schedule("c", 300);
+        cancelledBeforeTransfer.cancel();
+        wheel.advance(0);
+        cancelledInBucket.cancel();
+
+        Assert.assertEquals(Collections.singletonList("b"), wheel.advance(1000));
+    }
+
+    @Test
+    @DisplayName("Many timeouts in one bucket all expire together")
+    public void manyTimeoutsInOneBucket() {
+        HashedTimingWheel<Integer> wheel = new HashedTimingWheel<>(TICK, 2, 0);
+        for (int i = 0; i < 100_000; i++) {
+            wheel.schedule(i, 100 + (i % 2) * 200);
+        }
+
+        Assert.assertEquals(50_000, wheel.advance(100).size());
+        Assert.assertEquals(50_000, wheel.advance(300).size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("The wheel size must be a power of two")
+    public void wheelSizeMustBePowerOfTwo() {
+        new HashedTimingWheel<>(TICK, 3, 0);
+    }
+}
@@ -0,0 +1,82 @@
+package com.tenniscourts.reservations;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.pricing.PricingEngine;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+public class ReservationBatchServiceTest {
+
+    @Test
+    @DisplayName("when a slot is booked concurrently in best effort mode then only that item is rejected")
+    public void whenSlotIsBookedConcurrentlyInBestEffortModeThenOnlyThatItemIsRejected() {
+        ReservationRepository reservationRepository = Mockito.mock(ReservationRepository.class);
+        GuestRepository guestRepository = Mockito.mock(GuestRepository.class);
+        ScheduleRepository scheduleRepository = Mockito.mock(ScheduleRepository.class);
+        TransactionTemplate transactionTemplate = Mockito.mock(TransactionTemplate.class);
+        PricingEngine pricingEngine = Mockito.mock(PricingEngine.class);
+        Guest guest = new Guest();
+        guest.setId(1L);
+        Schedule first = schedule(10L);
+        Schedule second = schedule(11L);
+        Mockito.when(guestRepository.findAllById(any())).thenReturn(Collections.singletonList(guest));
+        Mockito.when(scheduleRepository.findAllById(any())).thenReturn(Arrays.asList(first, second));
+        Mockito.when(pricingEngine.price(anyLong(), any())).thenReturn(BigDecimal.TEN);
+        Mockito.when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        // The second slot is booked by another request between the batch's validation and its insert.
+        Mockito.when(reservationRepository.findActiveScheduleIds(anyCollection()))
+                .thenReturn(Collections.emptyList())
+                .thenReturn(Collections.singletonList(second.getId()));
+        Mockito.doThrow(new DataIntegrityViolationException("active_schedule_id"))
+                .doNothing()
+                .when(reservationRepository).insertAll(anyList());
+        ReservationBatchService reservationBatchService = new ReservationBatchService(reservationRepository,
+                guestRepository, scheduleRepository, new ScheduleSlotLocks(), transactionTemplate,
+                Mockito.mock(ApplicationEventPublisher.class), pricingEngine, Clock.systemDefaultZone());
+
+        ReservationBatchResultDTO result = reservationBatchService.bookReservations(
+                CreateReservationBatchRequestDTO.builder()
+                        .mode(ReservationBatchMode.BEST_EFFORT)
+                        .reservations(Arrays.asList(
+                                CreateReservationRequestDTO.builder().guestId(1L).scheduleId(first.getId()).build(),
+                                CreateReservationRequestDTO.builder().guestId(1L).scheduleId(second.getId()).build()))
+                        .build());
+
+        Assert.assertEquals(1, result.getBooked());
+        Assert.assertEquals(ReservationBatchItemStatus.BOOKED, result.getResults().get(0).getStatus());
+        Assert.assertEquals(ReservationBatchItemStatus.CONFLICT, result.getResults().get(1).getStatus());
+        Mockito.verify(reservationRepository, Mockito.times(2)).insertAll(anyList());
+    }
+
+    private static Schedule schedule(Long id) {
+        TennisCourt tennisCourt = new TennisCourt();
+        tennisCourt.setId(1L);
+        Schedule schedule = new Schedule();
+        schedule.setId(id);
+        schedule.setTennisCourt(tennisCourt);
+        schedule.setStartDateTime(LocalDateTime.now().plusDays(1));
+        schedule.setEndDateTime(LocalDateTime.now().plusDays(1).plusHours(1));
+        return schedule;
+    }
+}
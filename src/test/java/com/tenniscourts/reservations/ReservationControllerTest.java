@@ -6,25 +6,41 @@ import static com.tenniscourts.utils.Constants.HOST;
 import static com.tenniscourts.utils.Constants.RESERVATION_ID;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.startsWith;
 
+import com.tenniscourts.audit.AuditContextFilter;
+import com.tenniscourts.config.NdjsonWriter;
+import com.tenniscourts.schedules.CreateScheduleRequestDTO;
 import com.tenniscourts.utils.BaseTestConfig;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.parsing.Parser;
+import io.restassured.path.json.JsonPath;
+import io.restassured.response.ValidatableResponse;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 import javax.annotation.PostConstruct;
 import javax.transaction.Transactional;
 import org.apache.http.HttpStatus;
+import org.junit.Assert;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.runners.MethodSorters;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.MethodMode;
 
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
 public class ReservationControllerTest extends BaseTestConfig {
 
+    @Autowired
+    ReservationRepository reservationRepository;
+
     @PostConstruct
     public void init() {
         uri = HOST + port;
@@ -101,6 +117,29 @@ public class ReservationControllerTest extends BaseTestConfig {
                 .body("data.size()", is(4));
     }
 
+    @Test
+    @DisplayName("when stream all reservations then one json line per reservation is returned")
+    public void whenStreamAllReservationsThenOneJsonLinePerReservationIsReturned() {
+        String body = given()
+                .accept(NdjsonWriter.APPLICATION_NDJSON_VALUE)
+                .when()
+                .get(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .contentType(startsWith(NdjsonWriter.APPLICATION_NDJSON_VALUE))
+                .extract()
+                .asString();
+
+        String[] lines = body.split("\n");
+        Assert.assertEquals(reservationRepository.count(), lines.length);
+        Set<Long> ids = new HashSet<>();
+        for (String line : lines) {
+            JsonPath reservation = JsonPath.from(line);
+            Assert.assertTrue(ids.add(reservation.getLong("id")));
+            Assert.assertNotNull(reservation.getString("reservationStatus"));
+        }
+    }
+
     @Test
     @DisplayName("when book reservation than it is booked")
     public void whenBookReservationThanItIsBooked() {
@@ -237,4 +276,376 @@ public class ReservationControllerTest extends BaseTestConfig {
                 .then()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
     }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when reschedule reservation to a future slot then both slots change in one step")
+    public void whenRescheduleReservationToFutureSlotThenBothSlotsChange() {
+        Long previousScheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1));
+        Long scheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1).plusDays(1));
+        Long reservationId = book(1L, previousScheduleId);
+
+        given()
+                .when()
+                .put(String.format(uri + basePath + "/%s/%s", reservationId, scheduleId))
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("schedule.id", is(scheduleId.intValue()))
+                .body("reservationStatus", is(READY_TO_PLAY.toString()))
+                .body("previousReservation.id", is(reservationId.intValue()))
+                .body("previousReservation.reservationStatus", is(ReservationStatus.RESCHEDULED.toString()));
+        book(2L, previousScheduleId);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when reschedule reservation to a taken slot then the reservation is left unchanged")
+    public void whenRescheduleReservationToTakenSlotThenReservationIsUnchanged() {
+        Long previousScheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1));
+        Long scheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1).plusDays(1));
+        Long reservationId = book(1L, previousScheduleId);
+        book(2L, scheduleId);
+
+        given()
+                .when()
+                .put(String.format(uri + basePath + "/%s/%s", reservationId, scheduleId))
+                .then()
+                .statusCode(HttpStatus.SC_CONFLICT);
+        given()
+                .when()
+                .get(uri + basePath + "/" + reservationId)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("reservationStatus", is(READY_TO_PLAY.toString()));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when book batch best effort then valid reservations are booked")
+    public void whenBookBatchBestEffortThenValidReservationsAreBooked() {
+        Long scheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1));
+        CreateReservationBatchRequestDTO batchRequestDTO = CreateReservationBatchRequestDTO.builder()
+                .mode(ReservationBatchMode.BEST_EFFORT)
+                .reservations(Arrays.asList(
+                        CreateReservationRequestDTO.builder().guestId(1L).scheduleId(scheduleId).build(),
+                        CreateReservationRequestDTO.builder().guestId(2L).scheduleId(scheduleId).build(),
+                        CreateReservationRequestDTO.builder().guestId(10L).scheduleId(scheduleId).build(),
+                        CreateReservationRequestDTO.builder().guestId(1L).scheduleId(3L).build()))
+                .build();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(batchRequestDTO)
+                .when()
+                .post(uri + basePath + "/batch")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("booked", is(1))
+                .body("failed", is(3))
+                .body("results[0].status", is(ReservationBatchItemStatus.BOOKED.toString()))
+                .body("results[1].status", is(ReservationBatchItemStatus.CONFLICT.toString()))
+                .body("results[2].status", is(ReservationBatchItemStatus.NOT_FOUND.toString()))
+                .body("results[3].status", is(ReservationBatchItemStatus.INVALID.toString()));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when book batch all or nothing with a failure then nothing is booked")
+    public void whenBookBatchAllOrNothingWithFailureThenNothingIsBooked() {
+        Long firstScheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1));
+        Long secondScheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1).plusHours(2));
+        CreateReservationBatchRequestDTO batchRequestDTO = CreateReservationBatchRequestDTO.builder()
+                .mode(ReservationBatchMode.ALL_OR_NOTHING)
+                .reservations(Arrays.asList(
+                        CreateReservationRequestDTO.builder().guestId(1L).scheduleId(firstScheduleId).build(),
+                        CreateReservationRequestDTO.builder().guestId(1L).scheduleId(10L).build()))
+                .build();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(batchRequestDTO)
+                .when()
+                .post(uri + basePath + "/batch")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("booked", is(0))
+                .body("results[0].status", is(ReservationBatchItemStatus.ABORTED.toString()))
+                .body("results[1].status", is(ReservationBatchItemStatus.NOT_FOUND.toString()));
+
+        batchRequestDTO.setReservations(Arrays.asList(
+                CreateReservationRequestDTO.builder().guestId(1L).scheduleId(firstScheduleId).build(),
+                CreateReservationRequestDTO.builder().guestId(2L).scheduleId(secondScheduleId).build()));
+        given()
+                .contentType(ContentType.JSON)
+                .body(batchRequestDTO)
+                .when()
+                .post(uri + basePath + "/batch")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("booked", is(2))
+                .body("results[0].reservationId", notNullValue())
+                .body("results[1].reservationId", notNullValue());
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when schedule is held then it cannot be booked until the hold is confirmed")
+    public void whenHoldScheduleThenItIsNotBookableAndCanBeConfirmed() {
+        Long scheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1));
+
+        Integer reservationId = given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(scheduleId).build())
+                .when()
+                .post(uri + basePath + "/hold")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .body("reservationStatus", is(ReservationStatus.HELD.toString()))
+                .body("value", is(0))
+                .body("heldUntil", notNullValue())
+                .extract()
+                .path("id");
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(2L).scheduleId(scheduleId).build())
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CONFLICT);
+
+        given()
+                .when()
+                .post(uri + basePath + "/" + reservationId + "/confirm")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("reservationStatus", is(READY_TO_PLAY.toString()))
+                .body("value", is(10));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when hold expires then the schedule is available again and the hold cannot be confirmed")
+    public void whenHoldExpiresThenScheduleIsReleased() throws InterruptedException {
+        Long scheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1));
+        Integer reservationId = given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(scheduleId).build())
+                .queryParam("ttlSeconds", 1)
+                .when()
+                .post(uri + basePath + "/hold")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .path("id");
+
+        String status = ReservationStatus.HELD.toString();
+        for (int attempt = 0; attempt < 50 && ReservationStatus.HELD.toString().equals(status); attempt++) {
+            Thread.sleep(100);
+            status = given()
+                    .when()
+                    .get(uri + basePath + "/" + reservationId)
+                    .then()
+                    .extract()
+                    .path("reservationStatus");
+        }
+        Assert.assertEquals(ReservationStatus.EXPIRED.toString(), status);
+
+        given()
+                .when()
+                .post(uri + basePath + "/" + reservationId + "/confirm")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+        given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(2L).scheduleId(scheduleId).build())
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+    }
+
+    @Test
+    @DisplayName("when hold TTL is out of range then bad request is returned")
+    public void whenHoldWithInvalidTtlThenBadRequestIsReturned() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(2L).build())
+                .queryParam("ttlSeconds", 0)
+                .when()
+                .post(uri + basePath + "/hold")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when guest joins the waitlist of a taken schedule then the position is returned")
+    public void whenWaitlistJoinedThenPositionIsReturned() {
+        Long scheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1));
+        Long freeScheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1).plusHours(2));
+        book(1L, scheduleId);
+
+        Integer entryId = joinWaitlist(2L, scheduleId)
+                .statusCode(HttpStatus.SC_CREATED)
+                .body("status", is(WaitlistEntryStatus.WAITING.toString()))
+                .body("position", is(1))
+                .extract()
+                .path("id");
+        given()
+                .when()
+                .get(uri + basePath + "/waitlist/" + entryId)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("position", is(1));
+
+        joinWaitlist(2L, scheduleId).statusCode(HttpStatus.SC_CONFLICT);
+        joinWaitlist(2L, freeScheduleId).statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when reservation is cancelled then the head of the waitlist gets the schedule")
+    public void whenWaitlistedScheduleIsCancelledThenHeadIsPromoted() {
+        Long scheduleId = addFutureSchedule(LocalDateTime.now().plusYears(1));
+        Long reservationId = book(1L, scheduleId);
+        Integer entryId = joinWaitlist(2L, scheduleId)
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .path("id");
+
+        given()
+                .when()
+                .delete(uri + basePath + "/" + reservationId)
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+
+        Integer promotedId = given()
+                .when()
+                .get(uri + basePath + "/waitlist/" + entryId)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("status", is(WaitlistEntryStatus.PROMOTED.toString()))
+                .extract()
+                .path("reservationId");
+        given()
+                .when()
+                .get(uri + basePath + "/" + promotedId)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("reservationStatus", is(READY_TO_PLAY.toString()))
+                .body("guest.id", is(2));
+        given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(scheduleId).build())
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CONFLICT);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when court is closed then its reservations in the window are cancelled and refunded")
+    public void whenCourtIsClosedThenReservationsInWindowAreCancelledAndRefunded() {
+        LocalDateTime closedFrom = LocalDateTime.now().plusYears(2).withHour(8).truncatedTo(ChronoUnit.HOURS);
+        Long firstReservationId = book(1L, addFutureSchedule(closedFrom));
+        Long secondReservationId = book(2L, addFutureSchedule(closedFrom.plusHours(1)));
+        Long scheduleAfterClosureId = addFutureSchedule(closedFrom.plusDays(1));
+        Long reservationAfterClosureId = book(1L, scheduleAfterClosureId);
+
+        String body = given()
+                .contentType(ContentType.JSON)
+                .header(AuditContextFilter.USER_ID_HEADER, "5")
+                .body(CourtClosureRequestDTO.builder()
+                        .tennisCourtId(1L)
+                        .startDate(closedFrom)
+                        .endDate(closedFrom.plusHours(12))
+                        .refundPolicy(CourtClosureRefundPolicy.STANDARD)
+                        .build())
+                .when()
+                .post(uri + basePath + "/closures")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .extract()
+                .asString();
+
+        String[] lines = body.split("\n");
+        JsonPath summary = JsonPath.from(lines[lines.length - 1]);
+        Assert.assertTrue(summary.getBoolean("done"));
+        Assert.assertEquals(2, summary.getInt("totalCancelled"));
+        Assert.assertEquals(20, summary.getDouble("totalRefunded"), 0);
+        for (Long reservationId : Arrays.asList(firstReservationId, secondReservationId)) {
+            given()
+                    .when()
+                    .get(uri + basePath + "/" + reservationId)
+                    .then()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("reservationStatus", is(ReservationStatus.CANCELLED.toString()))
+                    .body("refundValue", is(10.0f))
+                    .body("value", is(0.0f));
+            Assert.assertEquals(Long.valueOf(5), reservationRepository.findById(reservationId).get().getUserUpdate());
+        }
+        given()
+                .when()
+                .get(uri + basePath + "/" + reservationAfterClosureId)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("reservationStatus", is(READY_TO_PLAY.toString()));
+    }
+
+    @Test
+    @DisplayName("when court closure window is empty then bad request is returned")
+    public void whenCourtClosureWindowIsEmptyThenBadRequestIsReturned() {
+        LocalDateTime closedFrom = LocalDateTime.now().plusYears(2);
+        given()
+                .contentType(ContentType.JSON)
+                .body(CourtClosureRequestDTO.builder()
+                        .tennisCourtId(1L)
+                        .startDate(closedFrom)
+                        .endDate(closedFrom)
+                        .build())
+                .when()
+                .post(uri + basePath + "/closures")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    private Long book(Long guestId, Long scheduleId) {
+        String location = given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(guestId).scheduleId(scheduleId).build())
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .header("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+    }
+
+    private ValidatableResponse joinWaitlist(Long guestId, Long scheduleId) {
+        return given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(guestId).scheduleId(scheduleId).build())
+                .when()
+                .post(uri + basePath + "/waitlist")
+                .then();
+    }
+
+    private Long addFutureSchedule(LocalDateTime startDateTime) {
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(startDateTime);
+        String location = given()
+                .contentType(ContentType.JSON)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + "/schedules")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .header("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+    }
 }
@@ -0,0 +1,189 @@
+package com.tenniscourts.reservations;
+
+import static com.tenniscourts.utils.Constants.HOST;
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.is;
+
+import com.tenniscourts.guests.Guest;
+import com.tenniscourts.guests.GuestRepository;
+import com.tenniscourts.pricing.PricingEngine;
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import com.tenniscourts.tenniscourts.TennisCourtRepository;
+import com.tenniscourts.utils.BaseTestConfig;
+import com.tenniscourts.utils.QueryCounter;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManagerFactory;
+import org.apache.http.HttpStatus;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DirtiesContext
+public class ReservationQueryCountTest extends BaseTestConfig {
+
+    private static final int COURTS = 10;
+    private static final int RESERVATIONS = 200;
+    private static final LocalDateTime START = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    GuestRepository guestRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    ReservationService reservationService;
+
+    private QueryCounter queryCounter;
+
+    @Before
+    public void init() {
+        uri = HOST + port;
+        queryCounter = new QueryCounter(entityManagerFactory);
+        if (reservationRepository.count() > RESERVATIONS) {
+            return;
+        }
+
+        List<TennisCourt> tennisCourts = new ArrayList<>();
+        for (int i = 0; i < COURTS; i++) {
+            TennisCourt tennisCourt = new TennisCourt();
+            tennisCourt.setName("Court " + i);
+            tennisCourts.add(tennisCourtRepository.save(tennisCourt));
+        }
+        for (int i = 0; i < RESERVATIONS; i++) {
+            Guest guest = guestRepository.save(Guest.builder().name("Guest " + i).build());
+            Schedule schedule = scheduleRepository.save(Schedule.builder()
+                    .tennisCourt(tennisCourts.get(i % COURTS))
+                    .startDateTime(START.plusHours(i))
+                    .endDateTime(START.plusHours(i + 1))
+                    .build());
+            reservationRepository.save(Reservation.builder()
+                    .guest(guest)
+                    .schedule(schedule)
+                    .reservationStatus(ReservationStatus.READY_TO_PLAY)
+                    .value(PricingEngine.BASE_PRICE)
+                    .build());
+        }
+    }
+
+    @Test
+    @DisplayName("when list reservations then one statement is issued regardless of size")
+    public void whenListReservationsThenOneStatementIsIssued() {
+        long statements = queryCounter.count(() -> given()
+                .when()
+                .get(uri + "/reservations")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("data.size()", is(RESERVATIONS + 3)));
+
+        Assert.assertEquals(1, statements);
+    }
+
+    @Test
+    @DisplayName("when list schedules then one statement is issued regardless of size")
+    public void whenListSchedulesThenOneStatementIsIssued() {
+        long statements = queryCounter.count(() -> given()
+                .when()
+                .get(uri + "/schedules")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("data.size()", is(RESERVATIONS + 3)));
+
+        Assert.assertEquals(1, statements);
+    }
+
+    @Test
+    @DisplayName("when page through reservations then one statement is issued per page")
+    public void whenPageReservationsThenOneStatementIsIssuedPerPage() {
+        long statements = queryCounter.count(() -> given()
+                .queryParam("limit", 100)
+                .when()
+                .get(uri + "/reservations/page")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("items.size()", is(100)));
+
+        Assert.assertEquals(1, statements);
+    }
+
+    @Test
+    @DisplayName("when book reservation then one select and one insert are issued")
+    public void whenBookReservationThenOneSelectAndOneInsertAreIssued() {
+        TennisCourt tennisCourt = tennisCourtRepository.findAll().get(0);
+        Guest guest = guestRepository.findAll().get(0);
+        Schedule schedule = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(START.minusDays(1))
+                .endDateTime(START.minusDays(1).plusHours(1))
+                .build());
+
+        long statements = queryCounter.count(() -> reservationService.bookReservation(CreateReservationRequestDTO
+                .builder()
+                .guestId(guest.getId())
+                .scheduleId(schedule.getId())
+                .build()));
+
+        Assert.assertEquals(2, statements);
+    }
+
+    @Test
+    @DisplayName("when reschedule reservation then the old one is updated and the new one inserted in one go")
+    public void whenRescheduleReservationThenFiveStatementsAreIssued() {
+        TennisCourt tennisCourt = tennisCourtRepository.findAll().get(0);
+        Guest guest = guestRepository.findAll().get(0);
+        Schedule previousSchedule = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(START.minusDays(2))
+                .endDateTime(START.minusDays(2).plusHours(1))
+                .build());
+        Schedule schedule = scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(START.minusDays(3))
+                .endDateTime(START.minusDays(3).plusHours(1))
+                .build());
+        Long reservationId = reservationService.bookReservation(CreateReservationRequestDTO.builder()
+                .guestId(guest.getId())
+                .scheduleId(previousSchedule.getId())
+                .build()).getId();
+
+        long statements = queryCounter.count(
+                () -> reservationService.rescheduleReservation(reservationId, schedule.getId()));
+
+        Assert.assertEquals(5, statements);
+    }
+
+    @Test
+    @DisplayName("when reservations of a window of schedules are loaded then they are fetched in one batch")
+    public void whenLoadReservationsOfScheduleWindowThenOneBatchIsFetched() {
+        long statements = queryCounter.count(() -> transactionTemplate.execute(status -> {
+            List<Schedule> schedules = scheduleRepository
+                    .findAllByStartDateTimeGreaterThanEqualAndEndDateTimeLessThanEqual(START, START.plusHours(50));
+            Assert.assertEquals(50, schedules.size());
+            schedules.forEach(schedule -> Assert.assertEquals(1, schedule.getReservations().size()));
+            return null;
+        }));
+
+        Assert.assertEquals(2, statements);
+    }
+}
@@ -0,0 +1,88 @@
+package com.tenniscourts.reservations;
+
+import com.tenniscourts.exceptions.AlreadyExistsEntityException;
+import com.tenniscourts.schedules.CreateScheduleRequestDTO;
+import com.tenniscourts.schedules.ScheduleService;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.junit4.SpringRunner;
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@DirtiesContext
+public class ReservationServiceConcurrencyTest {
+
+    private static final int SCHEDULES = 5;
+    private static final int BOOKINGS = 2000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    ReservationService reservationService;
+
+    @Autowired
+    ScheduleService scheduleService;
+
+    @Autowired
+    ReservationRepository reservationRepository;
+
+    @Test
+    @DisplayName("Exactly one booking wins per schedule under contention")
+    public void exactlyOneWinnerPerSchedule() throws Exception {
+        List<Long> scheduleIds = new ArrayList<>();
+        LocalDateTime start = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.HOURS);
+        for (int i = 0; i < SCHEDULES; i++) {
+            CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+            createScheduleRequestDTO.setTennisCourtId(1L);
+            createScheduleRequestDTO.setStartDateTime(start.plusHours(i));
+            scheduleIds.add(scheduleService.addSchedule(1L, createScheduleRequestDTO).getId());
+        }
+
+        AtomicInteger booked = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            CreateReservationRequestDTO createReservationRequestDTO = CreateReservationRequestDTO.builder()
+                    .guestId(1L + i % 2)
+                    .scheduleId(scheduleIds.get(i % SCHEDULES))
+                    .build();
+            futures.add(executor.submit(() -> {
+                startGate.await();
+                try {
+                    reservationService.bookReservation(createReservationRequestDTO);
+                    booked.incrementAndGet();
+                } catch (AlreadyExistsEntityException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        startGate.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(SCHEDULES, booked.get());
+        Assert.assertEquals(BOOKINGS - SCHEDULES, rejected.get());
+        for (Long scheduleId : scheduleIds) {
+            Assert.assertEquals(1, reservationRepository.findBySchedule_Id(scheduleId).size());
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.tenniscourts.reservations;
 
+import com.tenniscourts.refundpolicies.RefundPolicyEngine;
 import com.tenniscourts.schedules.Schedule;
 import java.math.BigDecimal;
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
 import org.junit.Assert;
 import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.runner.RunWith;
 import org.junit.runners.MethodSorters;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
 import org.mockito.junit.MockitoJUnitRunner;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @FixMethodOrder(MethodSorters.NAME_ASCENDING)
 @SpringBootTest
@@ -20,6 +30,27 @@ import org.springframework.test.context.ContextConfiguration;
 @ContextConfiguration(classes = ReservationService.class)
 public class ReservationServiceTest {
 
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2030, 6, 1, 12, 0);
+
+    private static final Clock CLOCK = Clock.fixed(NOW.atZone(ZONE).toInstant(), ZONE);
+
+    @Spy
+    RefundPolicyEngine refundPolicyEngine = new RefundPolicyEngine(null, CLOCK);
+
+    @Mock
+    ReservationRepository reservationRepository;
+
+    @Mock
+    TransactionTemplate transactionTemplate;
+
+    @Spy
+    ScheduleSlotLocks scheduleSlotLocks = new ScheduleSlotLocks();
+
+    @Mock
+    Clock clock;
+
     @InjectMocks
     ReservationService reservationService;
 
@@ -28,7 +59,7 @@ public class ReservationServiceTest {
     public void getRefundValueFullRefund() {
         Schedule schedule = new Schedule();
 
-        LocalDateTime startDateTime = LocalDateTime.now().plusDays(2);
+        LocalDateTime startDateTime = NOW.plusDays(2);
 
         schedule.setStartDateTime(startDateTime);
 
@@ -41,7 +72,7 @@ public class ReservationServiceTest {
     public void getRefundValue75Refund() {
         Schedule schedule = new Schedule();
 
-        LocalDateTime startDateTime = LocalDateTime.now().plusHours(13);
+        LocalDateTime startDateTime = NOW.plusHours(13);
 
         schedule.setStartDateTime(startDateTime);
 
@@ -55,7 +86,7 @@ public class ReservationServiceTest {
     public void getRefundValue50Refund() {
         Schedule schedule = new Schedule();
 
-        LocalDateTime startDateTime = LocalDateTime.now().plusHours(4);
+        LocalDateTime startDateTime = NOW.plusHours(4);
 
         schedule.setStartDateTime(startDateTime);
 
@@ -69,7 +100,7 @@ public class ReservationServiceTest {
     public void getRefundValue25Refund() {
         Schedule schedule = new Schedule();
 
-        LocalDateTime startDateTime = LocalDateTime.now().plusHours(2);
+        LocalDateTime startDateTime = NOW.plusHours(2).minusSeconds(1);
 
         schedule.setStartDateTime(startDateTime);
 
@@ -84,7 +115,7 @@ public class ReservationServiceTest {
     public void noRefund() {
         Schedule schedule = new Schedule();
 
-        LocalDateTime startDateTime = LocalDateTime.now().minusHours(1);
+        LocalDateTime startDateTime = NOW.minusHours(1);
 
         schedule.setStartDateTime(startDateTime);
 
@@ -92,4 +123,23 @@ public class ReservationServiceTest {
                         Reservation.builder().schedule(schedule).value(new BigDecimal(10L)).build()),
                 new BigDecimal(0));
     }
-}
\ No newline at end of file
+
+    @Test(expected = IllegalArgumentException.class)
+    @DisplayName("Hold expired by the service clock cannot be confirmed")
+    public void confirmHoldExpiredByClock() {
+        Schedule schedule = new Schedule();
+        schedule.setId(1L);
+        LocalDateTime heldUntil = NOW.plusMinutes(5);
+        Mockito.when(reservationRepository.findById(1L)).thenReturn(Optional.of(Reservation.builder()
+                .schedule(schedule)
+                .reservationStatus(ReservationStatus.HELD)
+                .heldUntil(heldUntil)
+                .build()));
+        Mockito.when(transactionTemplate.execute(ArgumentMatchers.any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        Mockito.when(clock.getZone()).thenReturn(ZONE);
+        Mockito.when(clock.instant()).thenReturn(heldUntil.plusMinutes(1).atZone(ZONE).toInstant());
+
+        reservationService.confirmReservation(1L);
+    }
+}
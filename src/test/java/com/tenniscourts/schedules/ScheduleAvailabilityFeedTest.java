@@ -0,0 +1,151 @@
+package com.tenniscourts.schedules;
+
+import com.tenniscourts.exceptions.BusinessException;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public class ScheduleAvailabilityFeedTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 5, 10, 0, 0);
+
+    private ScheduleAvailabilityFeed scheduleAvailabilityFeed;
+
+    @Before
+    public void setUp() {
+        ScheduleAvailabilityFeedProperties properties = new ScheduleAvailabilityFeedProperties();
+        properties.setBufferSize(2);
+        properties.setMaxSubscribers(1);
+        // A sender that never runs leaves every delta in the subscriber's buffer, like a client that stopped reading.
+        scheduleAvailabilityFeed = new ScheduleAvailabilityFeed(properties, runnable -> {
+        }, null);
+    }
+
+    @Test
+    @DisplayName("A subscriber falling a full buffer behind is evicted")
+    public void slowSubscriberIsEvicted() {
+        scheduleAvailabilityFeed.subscribe(1L, DAY, DAY.plusDays(1));
+
+        for (int i = 0; i < 3; i++) {
+            scheduleAvailabilityFeed.onAvailabilityChanged(ScheduleAvailabilityEvent.booked(schedule(2L)));
+            scheduleAvailabilityFeed.onAvailabilityChanged(ScheduleAvailabilityEvent.booked(schedule(1L)));
+            Assert.assertEquals(i < 2 ? 1 : 0, scheduleAvailabilityFeed.getSubscriberCount());
+        }
+    }
+
+    @Test(expected = BusinessException.class)
+    @DisplayName("Subscriptions beyond the limit are refused")
+    public void subscriberLimit() {
+        scheduleAvailabilityFeed.subscribe(null, DAY, DAY.plusDays(1));
+        scheduleAvailabilityFeed.subscribe(null, DAY, DAY.plusDays(1));
+    }
+
+    @Test
+    @DisplayName("Concurrent subscriptions never exceed the limit")
+    public void concurrentSubscriberLimit() throws Exception {
+        ScheduleAvailabilityFeedProperties properties = new ScheduleAvailabilityFeedProperties();
+        properties.setMaxSubscribers(5);
+        ScheduleAvailabilityFeed feed = new ScheduleAvailabilityFeed(properties, runnable -> {
+        }, null);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> subscriptions = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            subscriptions.add(executor.submit(() -> {
+                start.await();
+                try {
+                    feed.subscribe(null, DAY, DAY.plusDays(1));
+                    return true;
+                } catch (BusinessException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+        int subscribed = 0;
+        for (Future<Boolean> subscription : subscriptions) {
+            subscribed += subscription.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        Assert.assertEquals(5, subscribed);
+        Assert.assertEquals(5, feed.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("A subscriber blocking its sender in a write is evicted and the others keep receiving deltas")
+    public void blockedSubscriberIsEvictedWithoutStarvingOthers() throws Exception {
+        ScheduleAvailabilityFeedProperties properties = new ScheduleAvailabilityFeedProperties();
+        properties.setSenderThreads(1);
+        properties.setSendTimeout(Duration.ofMillis(50));
+        CountDownLatch unblock = new CountDownLatch(1);
+        CountDownLatch delivered = new CountDownLatch(1);
+        ScheduleAvailabilityFeed feed = new ScheduleAvailabilityFeed(properties) {
+
+            private boolean stalledCreated;
+
+            @Override
+            SseEmitter createEmitter(long timeout) {
+                boolean stalled = !stalledCreated;
+                stalledCreated = true;
+                return new SseEmitter(timeout) {
+
+                    private boolean subscribed;
+
+                    @Override
+                    public void send(SseEventBuilder builder) {
+                        if (!subscribed) {
+                            subscribed = true;
+                        } else if (stalled) {
+                            // A client that stopped reading: the write blocks until the connection gives up
+                            try {
+                                unblock.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        } else {
+                            delivered.countDown();
+                        }
+                    }
+                };
+            }
+        };
+        try {
+            feed.subscribe(1L, DAY, DAY.plusDays(1));
+            feed.subscribe(2L, DAY, DAY.plusDays(1));
+
+            feed.onAvailabilityChanged(ScheduleAvailabilityEvent.booked(schedule(1L)));
+            feed.onAvailabilityChanged(ScheduleAvailabilityEvent.booked(schedule(2L)));
+
+            Assert.assertTrue(delivered.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals(1, feed.getSubscriberCount());
+        } finally {
+            unblock.countDown();
+            feed.stop();
+        }
+    }
+
+    private static Schedule schedule(Long tennisCourtId) {
+        TennisCourt tennisCourt = new TennisCourt();
+        tennisCourt.setId(tennisCourtId);
+        Schedule schedule = Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(DAY.plusHours(10))
+                .endDateTime(DAY.plusHours(11))
+                .build();
+        schedule.setId(tennisCourtId);
+        return schedule;
+    }
+}
@@ -0,0 +1,134 @@
+package com.tenniscourts.schedules;
+
+import static org.mockito.Mockito.when;
+
+import com.tenniscourts.reservations.ReservationStatus;
+import com.tenniscourts.tenniscourts.TennisCourt;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduleAvailabilityIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 5, 10, 0, 0);
+
+    @Mock
+    ScheduleRepository scheduleRepository;
+
+    @InjectMocks
+    ScheduleAvailabilityIndex scheduleAvailabilityIndex;
+
+    @Before
+    public void setUp() {
+        when(scheduleRepository.findAllSlots()).thenReturn(Arrays.asList(
+                slot(1L, 1L, DAY.plusHours(10)),
+                slot(2L, 1L, DAY.plusHours(11)),
+                slot(3L, 2L, DAY.plusHours(10).plusMinutes(30)),
+                slot(4L, 2L, DAY.plusDays(1).plusHours(9))));
+        when(scheduleRepository.findScheduleIdsByReservationStatusIn(ReservationStatus.OCCUPYING))
+                .thenReturn(Collections.singletonList(2L));
+        scheduleAvailabilityIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Only free slots inside the window are returned, ordered by start")
+    public void findAvailableScheduleIds() {
+        Assert.assertEquals(Arrays.asList(1L, 3L, 4L),
+                scheduleAvailabilityIndex.findAvailableScheduleIds(DAY, DAY.plusDays(2)));
+        Assert.assertEquals(Collections.singletonList(3L),
+                scheduleAvailabilityIndex.findAvailableScheduleIds(DAY.plusHours(10).plusMinutes(1),
+                        DAY.plusHours(12)));
+        Assert.assertEquals(Collections.emptyList(),
+                scheduleAvailabilityIndex.findAvailableScheduleIds(DAY.plusHours(12), DAY));
+    }
+
+    @Test
+    @DisplayName("Booking and releasing a slot is reflected in the index")
+    public void availabilityEvents() {
+        Schedule schedule = schedule(1L, 1L, DAY.plusHours(10));
+
+        scheduleAvailabilityIndex.onAvailabilityChanged(ScheduleAvailabilityEvent.booked(schedule));
+        Assert.assertEquals(Arrays.asList(3L, 4L),
+                scheduleAvailabilityIndex.findAvailableScheduleIds(DAY, DAY.plusDays(2)));
+
+        scheduleAvailabilityIndex.onAvailabilityChanged(ScheduleAvailabilityEvent.released(schedule));
+        Assert.assertEquals(Arrays.asList(1L, 3L, 4L),
+                scheduleAvailabilityIndex.findAvailableScheduleIds(DAY, DAY.plusDays(2)));
+    }
+
+    @Test
+    @DisplayName("Added slots become available")
+    public void addSlot() {
+        scheduleAvailabilityIndex.addSlot(schedule(5L, 1L, DAY.plusHours(8)));
+
+        Assert.assertEquals(Arrays.asList(5L, 1L),
+                scheduleAvailabilityIndex.findAvailableScheduleIds(DAY, DAY.plusHours(12)).subList(0, 2));
+    }
+
+    @Test
+    @DisplayName("The earliest free run of slots across courts is found")
+    public void findNextAvailableScheduleIds() {
+        Assert.assertEquals(Collections.singletonList(1L),
+                scheduleAvailabilityIndex.findNextAvailableScheduleIds(DAY, Duration.ofHours(1)));
+        Assert.assertEquals(Collections.singletonList(3L),
+                scheduleAvailabilityIndex.findNextAvailableScheduleIds(DAY.plusHours(10).plusMinutes(1),
+                        Duration.ofHours(1)));
+        Assert.assertEquals(Collections.emptyList(),
+                scheduleAvailabilityIndex.findNextAvailableScheduleIds(DAY, Duration.ofHours(2)));
+
+        scheduleAvailabilityIndex.addSlot(schedule(5L, 2L, DAY.plusHours(11).plusMinutes(30)));
+        Assert.assertEquals(Arrays.asList(3L, 5L),
+                scheduleAvailabilityIndex.findNextAvailableScheduleIds(DAY, Duration.ofHours(2)));
+
+        scheduleAvailabilityIndex.onAvailabilityChanged(
+                ScheduleAvailabilityEvent.booked(schedule(1L, 1L, DAY.plusHours(10))));
+        Assert.assertEquals(Collections.singletonList(3L),
+                scheduleAvailabilityIndex.findNextAvailableScheduleIds(DAY, Duration.ofHours(1)));
+    }
+
+    private static Schedule schedule(Long id, Long tennisCourtId, LocalDateTime startDateTime) {
+        TennisCourt tennisCourt = new TennisCourt();
+        tennisCourt.setId(tennisCourtId);
+        Schedule schedule = Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(startDateTime)
+                .endDateTime(startDateTime.plusHours(1))
+                .build();
+        schedule.setId(id);
+        return schedule;
+    }
+
+    private static ScheduleSlot slot(Long id, Long tennisCourtId, LocalDateTime startDateTime) {
+        return new ScheduleSlot() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Long getTennisCourtId() {
+                return tennisCourtId;
+            }
+
+            @Override
+            public LocalDateTime getStartDateTime() {
+                return startDateTime;
+            }
+
+            @Override
+            public LocalDateTime getEndDateTime() {
+                return startDateTime.plusHours(1);
+            }
+        };
+    }
+}
@@ -2,17 +2,38 @@ package com.tenniscourts.schedules;
 
 import static com.tenniscourts.utils.Constants.HOST;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
 
+import com.tenniscourts.config.NdjsonWriter;
+import com.tenniscourts.reservations.CreateReservationRequestDTO;
 import com.tenniscourts.utils.BaseTestConfig;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.parsing.Parser;
+import io.restassured.response.ValidatableResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collections;
+import java.util.EnumSet;
 import javax.annotation.PostConstruct;
 import org.apache.http.HttpStatus;
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.http.MediaType;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.MethodMode;
 
@@ -36,6 +57,355 @@ public class ScheduleControllerTest extends BaseTestConfig {
                 .body("data.size()", is(3));
     }
 
+    @Test
+    @DisplayName("when stream all schedules then one json line per schedule is returned")
+    public void whenStreamAllSchedulesThenOneJsonLinePerScheduleIsReturned() {
+        String body = given()
+                .accept(NdjsonWriter.APPLICATION_NDJSON_VALUE)
+                .when()
+                .get(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .contentType(startsWith(NdjsonWriter.APPLICATION_NDJSON_VALUE))
+                .extract()
+                .asString();
+
+        String[] lines = body.split("\n");
+        Assert.assertEquals(3, lines.length);
+        Assert.assertTrue(lines[0].startsWith("{\"id\":1,"));
+    }
+
+    @Test
+    @DisplayName("when get schedules page by page then every schedule is returned once")
+    public void whenGetSchedulesPageByPageThenEveryScheduleIsReturnedOnce() {
+        String cursor = given()
+                .queryParam("limit", 2)
+                .when()
+                .get(uri + basePath + "/page")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("items.size()", is(2))
+                .body("items[0].id", is(3))
+                .body("items[1].id", is(1))
+                .body("nextCursor", notNullValue())
+                .extract()
+                .path("nextCursor");
+
+        given()
+                .queryParam("limit", 2)
+                .queryParam("cursor", cursor)
+                .when()
+                .get(uri + basePath + "/page")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("items.size()", is(1))
+                .body("items[0].id", is(2))
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @DisplayName("when get schedules page with invalid limit or cursor then correct status is returned")
+    public void whenGetSchedulesPageWithInvalidLimitOrCursorThenCorrectStatusIsReturned() {
+        given()
+                .queryParam("limit", 0)
+                .when()
+                .get(uri + basePath + "/page")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+
+        given()
+                .queryParam("cursor", "not-a-cursor")
+                .when()
+                .get(uri + basePath + "/page")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    @Test
+    @DisplayName("when get available schedules page by page then only free schedules of the courts are returned")
+    public void whenGetAvailableSchedulesPageByPageThenOnlyFreeSchedulesAreReturned() {
+        ScheduleFilterDTO scheduleFilterDTO = new ScheduleFilterDTO();
+        scheduleFilterDTO.setStartDate(LocalDateTime.now().minusYears(10));
+        scheduleFilterDTO.setEndDate(LocalDateTime.now().plusYears(10));
+        String cursor = given()
+                .contentType(ContentType.JSON)
+                .body(scheduleFilterDTO)
+                .queryParam("limit", 1)
+                .when()
+                .post(uri + basePath + "/filter/available/page")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("items.size()", is(1))
+                .body("items[0].id", is(3))
+                .extract()
+                .path("nextCursor");
+
+        scheduleFilterDTO.setTennisCourtIds(Collections.singletonList(1L));
+        given()
+                .contentType(ContentType.JSON)
+                .body(scheduleFilterDTO)
+                .queryParam("limit", 1)
+                .queryParam("cursor", cursor)
+                .when()
+                .post(uri + basePath + "/filter/available/page")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("items.size()", is(1))
+                .body("items[0].id", is(1))
+                .body("nextCursor", nullValue());
+
+        scheduleFilterDTO.setTennisCourtIds(Collections.singletonList(2L));
+        given()
+                .contentType(ContentType.JSON)
+                .body(scheduleFilterDTO)
+                .when()
+                .post(uri + basePath + "/filter/available/page")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("items.size()", is(0));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when get next available schedules then the earliest free run is returned")
+    public void whenGetNextAvailableSchedulesThenEarliestFreeRunIsReturned() {
+        given()
+                .when()
+                .get(uri + basePath + "/next-available")
+                .then()
+                .statusCode(HttpStatus.SC_NOT_FOUND);
+
+        LocalDateTime startDateTime = LocalDate.now().plusYears(1).atTime(10, 0);
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        for (int hour = 0; hour < 2; hour++) {
+            createScheduleRequestDTO.setStartDateTime(startDateTime.plusHours(hour));
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(createScheduleRequestDTO)
+                    .when()
+                    .post(uri + basePath)
+                    .then()
+                    .statusCode(HttpStatus.SC_CREATED);
+        }
+
+        Integer firstScheduleId = given()
+                .queryParam("hours", 2)
+                .when()
+                .get(uri + basePath + "/next-available")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("size()", is(2))
+                .extract()
+                .path("[0].id");
+        given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(firstScheduleId.longValue()).build())
+                .when()
+                .post(uri + "/reservations")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+
+        given()
+                .when()
+                .get(uri + basePath + "/next-available")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("size()", is(1))
+                .body("[0].startDateTime", is(startDateTime.plusHours(1).toString()));
+        given()
+                .queryParam("hours", 2)
+                .when()
+                .get(uri + basePath + "/next-available")
+                .then()
+                .statusCode(HttpStatus.SC_NOT_FOUND);
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when subscribed to the availability feed then bookings are pushed")
+    public void whenSubscribedToAvailabilityFeedThenBookingsArePushed() throws IOException {
+        LocalDateTime startDateTime = LocalDate.now().plusYears(1).atTime(10, 0);
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(startDateTime);
+        String location = given()
+                .contentType(ContentType.JSON)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .header("Location");
+        Long scheduleId = Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+
+        HttpURLConnection connection = (HttpURLConnection) new URL(String.format(
+                "%s%s/available/feed?tennisCourtId=1&startDate=%s&endDate=%s", uri, basePath,
+                startDateTime.toLocalDate().atStartOfDay(), startDateTime.plusDays(1))).openConnection();
+        connection.setRequestProperty("Accept", MediaType.TEXT_EVENT_STREAM_VALUE);
+        connection.setReadTimeout(10_000);
+        try (BufferedReader events = new BufferedReader(new InputStreamReader(connection.getInputStream(),
+                StandardCharsets.UTF_8))) {
+            Assert.assertEquals(":subscribed", events.readLine());
+
+            given()
+                    .contentType(ContentType.JSON)
+                    .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(scheduleId).build())
+                    .when()
+                    .post(uri + "/reservations")
+                    .then()
+                    .statusCode(HttpStatus.SC_CREATED);
+
+            String line = events.readLine();
+            while (line != null && !line.startsWith("event:")) {
+                line = events.readLine();
+            }
+            Assert.assertEquals("event:" + ScheduleAvailabilityFeed.SLOT_BOOKED, line);
+            String data = events.readLine();
+            Assert.assertTrue(data, data.startsWith("data:{\"scheduleId\":" + scheduleId + ","));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when a cached available schedule is booked then it is no longer returned")
+    public void whenCachedAvailableScheduleIsBookedThenItIsNoLongerReturned() {
+        LocalDateTime startDateTime = LocalDate.now().plusYears(1).atTime(10, 0);
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(startDateTime);
+        given()
+                .contentType(ContentType.JSON)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+
+        ScheduleFilterDTO scheduleFilterDTO = new ScheduleFilterDTO();
+        scheduleFilterDTO.setStartDate(startDateTime.minusDays(1));
+        scheduleFilterDTO.setEndDate(startDateTime.plusDays(1));
+        Integer scheduleId = null;
+        for (int i = 0; i < 2; i++) {
+            scheduleId = given()
+                    .contentType(ContentType.JSON)
+                    .body(scheduleFilterDTO)
+                    .when()
+                    .post(uri + basePath + "/filter/available")
+                    .then()
+                    .statusCode(HttpStatus.SC_OK)
+                    .body("size()", is(1))
+                    .extract()
+                    .path("[0].id");
+        }
+        given()
+                .when()
+                .get(uri + "/caches")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("find { it.name == 'availableSchedulesByDates' }.hits", is(1));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(scheduleId.longValue()).build())
+                .when()
+                .post(uri + "/reservations")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+        given()
+                .contentType(ContentType.JSON)
+                .body(scheduleFilterDTO)
+                .when()
+                .post(uri + basePath + "/filter/available")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("size()", is(0));
+    }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when get schedule matrix then every court slot is returned with its status and price")
+    public void whenGetScheduleMatrixThenEveryCourtSlotIsReturnedWithItsStatusAndPrice() {
+        LocalDate day = LocalDate.now().plusYears(3);
+        Long first = addFutureSchedule(day.atTime(9, 0));
+        Long second = addFutureSchedule(day.atTime(10, 0));
+        for (int i = 0; i < 2; i++) {
+            getScheduleMatrix(day)
+                    .body("slotStartDateTimes", contains(day.atTime(9, 0).toString(), day.atTime(10, 0).toString()))
+                    .body("tennisCourts.tennisCourtId", contains(1))
+                    .body("tennisCourts[0].statuses", is("FF"))
+                    .body("tennisCourts[0].scheduleIds", contains(first.intValue(), second.intValue()))
+                    .body("tennisCourts[0].prices", contains(10, 10));
+        }
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(1L).scheduleId(second).build())
+                .when()
+                .post(uri + "/reservations")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+        getScheduleMatrix(day).body("tennisCourts[0].statuses", is("FB"));
+
+        Integer holdId = given()
+                .contentType(ContentType.JSON)
+                .body(CreateReservationRequestDTO.builder().guestId(2L).scheduleId(first).build())
+                .when()
+                .post(uri + "/reservations/hold")
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .path("id");
+        getScheduleMatrix(day).body("tennisCourts[0].statuses", is("HB"));
+        given()
+                .when()
+                .post(uri + "/reservations/" + holdId + "/confirm")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+        getScheduleMatrix(day).body("tennisCourts[0].statuses", is("BB"));
+    }
+
+    @Test
+    @DisplayName("when get schedule matrix of a too long window then bad request is returned")
+    public void whenGetScheduleMatrixOfTooLongWindowThenBadRequestIsReturned() {
+        given()
+                .when()
+                .queryParam("startDate", "2030-01-01T00:00")
+                .queryParam("endDate", "2030-03-01T00:00")
+                .get(uri + basePath + "/matrix")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
+    private Long addFutureSchedule(LocalDateTime startDateTime) {
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(startDateTime);
+        String location = given()
+                .contentType(ContentType.JSON)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CREATED)
+                .extract()
+                .header("Location");
+        return Long.valueOf(location.substring(location.lastIndexOf('/') + 1));
+    }
+
+    private ValidatableResponse getScheduleMatrix(LocalDate day) {
+        return given()
+                .when()
+                .queryParam("startDate", day.atStartOfDay().toString())
+                .queryParam("endDate", day.plusDays(1).atStartOfDay().toString())
+                .get(uri + basePath + "/matrix")
+                .then()
+                .statusCode(HttpStatus.SC_OK);
+    }
+
     @Test
     @DisplayName("when get schedule by id then correct schedule is returned")
     public void whenGetScheduleByIdThenCorrectScheduleIsReturned() {
@@ -141,6 +511,41 @@ public class ScheduleControllerTest extends BaseTestConfig {
                 .statusCode(HttpStatus.SC_CONFLICT);
     }
 
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when schedule tennis court overlapping an existing slot then schedule is not created")
+    public void whenScheduleTennisCourtOverlappingExistingSlotThenScheduleIsNotCreated() {
+        LocalDateTime startDateTime = LocalDate.now().plusYears(1).atTime(10, 0);
+        CreateScheduleRequestDTO createScheduleRequestDTO = new CreateScheduleRequestDTO();
+        createScheduleRequestDTO.setTennisCourtId(1L);
+        createScheduleRequestDTO.setStartDateTime(startDateTime);
+        given()
+                .contentType(ContentType.JSON)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+
+        createScheduleRequestDTO.setStartDateTime(startDateTime.plusMinutes(30));
+        given()
+                .contentType(ContentType.JSON)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CONFLICT);
+
+        createScheduleRequestDTO.setStartDateTime(startDateTime.plusHours(1));
+        given()
+                .contentType(ContentType.JSON)
+                .body(createScheduleRequestDTO)
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+    }
+
     @Test
     @DisplayName("when schedule tennis court non existent then schedule is not created")
     public void whenScheduleTennisCourtNonExistentThenScheduleIsNotCreated() {
@@ -169,4 +574,71 @@ public class ScheduleControllerTest extends BaseTestConfig {
                 .then()
                 .statusCode(HttpStatus.SC_BAD_REQUEST);
     }
+
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when schedule template is added then its slots are generated around existing ones")
+    public void whenScheduleTemplateIsAddedThenSlotsAreGeneratedAroundExistingOnes() {
+        LocalDate monday = LocalDate.now().plusWeeks(2).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        CreateScheduleRequestDTO existing = new CreateScheduleRequestDTO();
+        existing.setTennisCourtId(1L);
+        existing.setStartDateTime(monday.atTime(9, 30));
+        given()
+                .contentType(ContentType.JSON)
+                .body(existing)
+                .when()
+                .post(uri + basePath)
+                .then()
+                .statusCode(HttpStatus.SC_CREATED);
+        getScheduleMatrix(monday).body("slotStartDateTimes", contains(monday.atTime(9, 30).toString()));
+
+        CreateScheduleTemplateRequestDTO template = CreateScheduleTemplateRequestDTO.builder()
+                .tennisCourtId(1L)
+                .daysOfWeek(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY))
+                .firstSlotStart(LocalTime.of(8, 0))
+                .lastSlotEnd(LocalTime.of(12, 0))
+                .startDate(monday)
+                .endDate(monday.plusDays(6))
+                .build();
+        given()
+                .contentType(ContentType.JSON)
+                .body(template)
+                .when()
+                .post(uri + basePath + "/templates")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("created", is(18))
+                .body("conflicts.size()", is(2))
+                .body("conflicts[0]", is(monday.atTime(9, 0).toString()));
+        getScheduleMatrix(monday).body("slotStartDateTimes", contains(monday.atTime(8, 0).toString(),
+                monday.atTime(9, 30).toString(), monday.atTime(11, 0).toString()));
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(template)
+                .when()
+                .post(uri + basePath + "/templates")
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("created", is(0))
+                .body("conflicts.size()", is(20));
+    }
+
+    @Test
+    @DisplayName("when schedule template has no room for a slot then bad request is returned")
+    public void whenScheduleTemplateHasNoRoomForASlotThenBadRequestIsReturned() {
+        given()
+                .contentType(ContentType.JSON)
+                .body(CreateScheduleTemplateRequestDTO.builder()
+                        .tennisCourtId(1L)
+                        .daysOfWeek(EnumSet.of(DayOfWeek.MONDAY))
+                        .firstSlotStart(LocalTime.of(12, 0))
+                        .lastSlotEnd(LocalTime.of(12, 30))
+                        .endDate(LocalDate.now().plusDays(7))
+                        .build())
+                .when()
+                .post(uri + basePath + "/templates")
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
 }
@@ -0,0 +1,84 @@
+package com.tenniscourts.schedules;
+
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ScheduleIntervalIndexTest {
+
+    private static final LocalDateTime DAY = LocalDateTime.of(2030, 5, 10, 0, 0);
+
+    @Mock
+    ScheduleRepository scheduleRepository;
+
+    @InjectMocks
+    ScheduleIntervalIndex scheduleIntervalIndex;
+
+    @Before
+    public void setUp() {
+        when(scheduleRepository.findAllSlots()).thenReturn(Arrays.asList(
+                slot(1L, DAY.plusHours(10), DAY.plusHours(11)),
+                slot(1L, DAY.plusHours(8), DAY.plusHours(14)),
+                slot(1L, DAY.plusHours(9), DAY.plusHours(10)),
+                slot(2L, DAY.plusHours(10), DAY.plusHours(11))));
+        scheduleIntervalIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("Slots overlapping any existing slot of the same court are detected")
+    public void overlaps() {
+        Assert.assertTrue(scheduleIntervalIndex.overlaps(1L, DAY.plusHours(12), DAY.plusHours(13)));
+        Assert.assertTrue(scheduleIntervalIndex.overlaps(1L, DAY.plusHours(13).plusMinutes(30), DAY.plusHours(15)));
+        Assert.assertTrue(scheduleIntervalIndex.overlaps(2L, DAY.plusHours(10).plusMinutes(30), DAY.plusHours(12)));
+        Assert.assertFalse(scheduleIntervalIndex.overlaps(1L, DAY.plusHours(14), DAY.plusHours(15)));
+        Assert.assertFalse(scheduleIntervalIndex.overlaps(1L, DAY.plusHours(7), DAY.plusHours(8)));
+        Assert.assertFalse(scheduleIntervalIndex.overlaps(2L, DAY.plusHours(9), DAY.plusHours(10)));
+        Assert.assertFalse(scheduleIntervalIndex.overlaps(3L, DAY.plusHours(10), DAY.plusHours(11)));
+    }
+
+    @Test
+    @DisplayName("Added slots are merged with their neighbours")
+    public void add() {
+        scheduleIntervalIndex.add(2L, DAY.plusHours(12), DAY.plusHours(13));
+        scheduleIntervalIndex.add(2L, DAY.plusHours(11), DAY.plusHours(12));
+
+        Assert.assertTrue(scheduleIntervalIndex.overlaps(2L, DAY.plusHours(11).plusMinutes(30),
+                DAY.plusHours(11).plusMinutes(45)));
+        Assert.assertTrue(scheduleIntervalIndex.overlaps(2L, DAY.plusHours(12).plusMinutes(59), DAY.plusHours(14)));
+        Assert.assertFalse(scheduleIntervalIndex.overlaps(2L, DAY.plusHours(13), DAY.plusHours(14)));
+    }
+
+    private static ScheduleSlot slot(Long tennisCourtId, LocalDateTime startDateTime, LocalDateTime endDateTime) {
+        return new ScheduleSlot() {
+            @Override
+            public Long getId() {
+                return null;
+            }
+
+            @Override
+            public Long getTennisCourtId() {
+                return tennisCourtId;
+            }
+
+            @Override
+            public LocalDateTime getStartDateTime() {
+                return startDateTime;
+            }
+
+            @Override
+            public LocalDateTime getEndDateTime() {
+                return endDateTime;
+            }
+        };
+    }
+}
@@ -2,19 +2,35 @@ package com.tenniscourts.tenniscourts;
 
 import static com.tenniscourts.utils.Constants.HOST;
 import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
+import com.tenniscourts.schedules.Schedule;
+import com.tenniscourts.schedules.ScheduleRepository;
 import com.tenniscourts.utils.BaseTestConfig;
 import io.restassured.RestAssured;
 import io.restassured.http.ContentType;
 import io.restassured.parsing.Parser;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import javax.annotation.PostConstruct;
 import org.apache.http.HttpStatus;
 import org.junit.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.MethodMode;
 
 public class TennisCourtControllerTest extends BaseTestConfig {
 
+    @Autowired
+    TennisCourtRepository tennisCourtRepository;
+
+    @Autowired
+    ScheduleRepository scheduleRepository;
+
     @PostConstruct
     public void init() {
         uri = HOST + port;
@@ -49,6 +65,7 @@ public class TennisCourtControllerTest extends BaseTestConfig {
     public void whenGetTennisCourtWithSchedulesByIdThenCorrectTennisCourtIsReturned() {
         given()
                 .when()
+                .queryParam("startDate", "2000-01-01T00:00")
                 .get(String.format(uri + basePath + "/%s/schedules", 1)).prettyPeek()
                 .then()
                 .statusCode(HttpStatus.SC_OK)
@@ -57,6 +74,73 @@ public class TennisCourtControllerTest extends BaseTestConfig {
                 .body("tennisCourtSchedules.size()", is(3));
     }
 
+    @Test
+    @DirtiesContext(methodMode = MethodMode.AFTER_METHOD)
+    @DisplayName("when get tennis court with schedules without a window then only upcoming schedules are returned")
+    public void whenGetTennisCourtWithSchedulesWithoutWindowThenOnlyUpcomingSchedulesAreReturned() {
+        TennisCourt tennisCourt = new TennisCourt();
+        tennisCourt.setName("Court With History");
+        tennisCourt = tennisCourtRepository.save(tennisCourt);
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        addSchedule(tennisCourt, now.minusDays(1));
+        Schedule upcoming = addSchedule(tennisCourt, now.plusDays(1));
+
+        given()
+                .when()
+                .get(String.format(uri + basePath + "/%s/schedules", tennisCourt.getId()))
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("tennisCourtSchedules.id", contains(upcoming.getId().intValue()));
+    }
+
+    private Schedule addSchedule(TennisCourt tennisCourt, LocalDateTime startDateTime) {
+        return scheduleRepository.save(Schedule.builder()
+                .tennisCourt(tennisCourt)
+                .startDateTime(startDateTime)
+                .endDateTime(startDateTime.plusHours(1))
+                .build());
+    }
+
+    @Test
+    @DisplayName("when get tennis court with schedules by pages then every schedule is returned once in order")
+    public void whenGetTennisCourtWithSchedulesByPagesThenEveryScheduleIsReturnedOnceInOrder() {
+        String nextCursor = given()
+                .when()
+                .queryParam("startDate", "2000-01-01T00:00")
+                .queryParam("endDate", "2025-01-01T00:00")
+                .queryParam("limit", 2)
+                .get(String.format(uri + basePath + "/%s/schedules", 1))
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("tennisCourtSchedules.id", contains(3, 1))
+                .body("nextCursor", notNullValue())
+                .extract().path("nextCursor");
+
+        given()
+                .when()
+                .queryParam("startDate", "2000-01-01T00:00")
+                .queryParam("endDate", "2025-01-01T00:00")
+                .queryParam("limit", 2)
+                .queryParam("cursor", nextCursor)
+                .get(String.format(uri + basePath + "/%s/schedules", 1))
+                .then()
+                .statusCode(HttpStatus.SC_OK)
+                .body("tennisCourtSchedules.id", contains(2))
+                .body("nextCursor", nullValue());
+    }
+
+    @Test
+    @DisplayName("when get tennis court with schedules by an empty window then bad request is returned")
+    public void whenGetTennisCourtWithSchedulesByEmptyWindowThenBadRequestIsReturned() {
+        given()
+                .when()
+                .queryParam("startDate", "2025-01-01T00:00")
+                .queryParam("endDate", "2024-01-01T00:00")
+                .get(String.format(uri + basePath + "/%s/schedules", 1))
+                .then()
+                .statusCode(HttpStatus.SC_BAD_REQUEST);
+    }
+
     @Test
     @DisplayName("when get tennis court with schedules by missing id then tennis court is not returned")
     public void whenGetTennisCourtWithSchedulesByMissingIdThenTennisCourtIsNotReturned() {